@@ -0,0 +1,51 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.VaccineApplication;
+import com.vaccine.enums.VaccineType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class BenchmarkContext {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final VaccineType[] TYPES = VaccineType.values();
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(int catalogueSize, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(VaccineApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:vaccine-benchmark-" + System.nanoTime(),
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .run(Stream.concat(Stream.of("spring.jpa.hibernate.ddl-auto=update"), Arrays.stream(properties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+        seed(context.getBean(JdbcTemplate.class), catalogueSize);
+        return context;
+    }
+
+    static String nameOf(int index) {
+        return "Vaccine-" + index;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int catalogueSize) {
+        for (int from = 0; from < catalogueSize; from += SEED_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, catalogueSize); i++) {
+                rows.add(new Object[]{nameOf(i), "Brand-" + i, 1_000_000_000, 0, TYPES[i % TYPES.length].name()});
+            }
+            jdbcTemplate.batchUpdate("insert into vaccine (id, name, brand, max, quantity, type, version) values (nextval('vaccine_seq'), ?, ?, ?, ?, ?, 0)", rows);
+        }
+    }
+}
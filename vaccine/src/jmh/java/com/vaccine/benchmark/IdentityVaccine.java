@@ -0,0 +1,41 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.enums.VaccineType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Data
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_identity_vaccine_name", columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdentityVaccine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column
+    private String name;
+
+    @Column(nullable = false)
+    private String brand;
+
+    @Column(nullable = false)
+    private int max;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VaccineType type;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+}
@@ -0,0 +1,110 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.enums.ImportFormat;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.service.VaccineImportService;
+import com.vaccine.service.VaccineService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PersistenceProfileBenchmark {
+
+    private static final int CATALOGUE_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int IMPORT_ROWS = 500;
+    private static final List<String> UNTUNED_POSTGRES = List.of(
+            "spring.datasource.hikari.maximum-pool-size=10",
+            "spring.datasource.hikari.minimum-idle=10",
+            "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=false",
+            "spring.datasource.hikari.data-source-properties.prepareThreshold=5",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+            "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=false");
+
+    @Param({"h2", "postgres", "postgres-untuned"})
+    private String database;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private VaccineService vaccineService;
+    private VaccineImportService vaccineImportService;
+    private Long[] ids;
+    private final AtomicLong importedRows = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        if (database.equals("h2")) {
+            context = BenchmarkContext.start(CATALOGUE_SIZE);
+        } else {
+            postgres = EmbeddedPostgres.start();
+            context = BenchmarkContext.start(CATALOGUE_SIZE, Stream.concat(Stream.of(
+                    "spring.profiles.active=postgres",
+                    "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.username=postgres"),
+                    database.equals("postgres-untuned") ? UNTUNED_POSTGRES.stream() : Stream.empty())
+                    .toArray(String[]::new));
+        }
+        vaccineService = context.getBean(VaccineService.class);
+        vaccineImportService = context.getBean(VaccineImportService.class);
+        ids = vaccineService.listAfter(0L, CATALOGUE_SIZE).stream()
+                .map(VaccineDTO::getId)
+                .toArray(Long[]::new);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public VaccineDTO incrementRandomVaccine() throws VaccineNotFoundExcep, VaccineStockExceedException {
+        return vaccineService.increment(randomId(), 1);
+    }
+
+    @Benchmark
+    public List<VaccineDTO> listRandomPage() {
+        return vaccineService.listAfter(randomId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MINUTES)
+    public VaccineImportReportDTO importCsv() throws Exception {
+        long from = importedRows.getAndAdd(IMPORT_ROWS);
+        StringBuilder csv = new StringBuilder("name,brand,max,quantity,type\n");
+        for (long i = from; i < from + IMPORT_ROWS; i++) {
+            csv.append("Imported-").append(i).append(",Brand,1000,0,PFIZER\n");
+        }
+        return vaccineImportService.importVaccines(new StringReader(csv.toString()), ImportFormat.CSV);
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,83 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VaccineInsertBenchmark {
+
+    private static final int VACCINES = 100_000;
+    private static final int FLUSH_EVERY = 1000;
+    private static final VaccineType[] TYPES = VaccineType.values();
+
+    @Param({"identity", "sequence"})
+    private String idStrategy;
+
+    @Param({"1", "50", "500"})
+    private int allocationSize;
+
+    @Param({""})
+    private String datasourceUrl;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = datasourceUrl.isEmpty()
+                ? BenchmarkContext.start(0, "vaccine.id.allocation-size=" + allocationSize)
+                : BenchmarkContext.start(0, "vaccine.id.allocation-size=" + allocationSize,
+                        "spring.datasource.url=" + datasourceUrl);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("truncate table vaccine");
+        jdbcTemplate.execute("truncate table identity_vaccine");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insert100kVaccines() {
+        boolean identity = idStrategy.equals("identity");
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < VACCINES; i++) {
+                VaccineType type = TYPES[i % TYPES.length];
+                entityManager.persist(identity
+                        ? new IdentityVaccine(null, BenchmarkContext.nameOf(i), "Brand-" + i, 1000, 0, type, null)
+                        : new Vaccine(null, BenchmarkContext.nameOf(i), "Brand-" + i, 1000, 0, type, null));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.vaccine.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.enums.VaccineType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VaccineJsonBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ObjectWriter vaccineWriter;
+    private VaccineDTO vaccineDTO;
+
+    @Setup
+    public void setUp() {
+        vaccineWriter = OBJECT_MAPPER.writerFor(VaccineDTO.class);
+        vaccineDTO = new VaccineDTO(1L, "Pfizer", "BioNTech", 30, 15, VaccineType.PFIZER, 0L);
+    }
+
+    @Benchmark
+    public byte[] serializeVaccine() throws JsonProcessingException {
+        return vaccineWriter.writeValueAsBytes(vaccineDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeVaccineList(VaccineList vaccineList) throws JsonProcessingException {
+        return vaccineList.writer.writeValueAsBytes(vaccineList.vaccineDTOs);
+    }
+
+    @State(Scope.Benchmark)
+    public static class VaccineList {
+
+        @Param({"20", "1000"})
+        private int listSize;
+
+        private ObjectWriter writer;
+        private List<VaccineDTO> vaccineDTOs;
+
+        @Setup
+        public void setUp() {
+            writer = OBJECT_MAPPER.writerFor(OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, VaccineDTO.class));
+            vaccineDTOs = new ArrayList<>();
+            for (int i = 0; i < listSize; i++) {
+                vaccineDTOs.add(new VaccineDTO((long) i, BenchmarkContext.nameOf(i), "Brand-" + i, 30, 15, VaccineType.PFIZER, 0L));
+            }
+        }
+    }
+}
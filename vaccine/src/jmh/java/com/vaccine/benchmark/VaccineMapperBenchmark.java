@@ -0,0 +1,42 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.mapper.VaccineMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VaccineMapperBenchmark {
+
+    private final VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
+
+    private Vaccine vaccine;
+    private VaccineDTO vaccineDTO;
+
+    @Setup
+    public void setUp() {
+        vaccine = new Vaccine(1L, "Pfizer", "BioNTech", 30, 15, VaccineType.PFIZER, 0L);
+        vaccineDTO = vaccineMapper.toDTO(vaccine);
+    }
+
+    @Benchmark
+    public VaccineDTO toDTO() {
+        return vaccineMapper.toDTO(vaccine);
+    }
+
+    @Benchmark
+    public Vaccine toModel() {
+        return vaccineMapper.toModel(vaccineDTO);
+    }
+}
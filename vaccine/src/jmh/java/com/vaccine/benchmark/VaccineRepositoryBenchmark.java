@@ -0,0 +1,54 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.entity.Vaccine;
+import com.vaccine.repository.VaccineRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VaccineRepositoryBenchmark {
+
+    @Param({"10000", "100000"})
+    private int catalogueSize;
+
+    @Param({"true", "false"})
+    private boolean nameIndexed;
+
+    private ConfigurableApplicationContext context;
+    private VaccineRepository vaccineRepository;
+    private String middleName;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(catalogueSize);
+        if (!nameIndexed) {
+            context.getBean(JdbcTemplate.class).execute("alter table vaccine drop constraint uk_vaccine_name");
+        }
+        vaccineRepository = context.getBean(VaccineRepository.class);
+        middleName = BenchmarkContext.nameOf(catalogueSize / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Vaccine> findByName() {
+        return vaccineRepository.findByName(middleName);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vaccine.benchmark;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.service.VaccineService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VaccineServiceBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"100", "10000", "100000"})
+    private int catalogueSize;
+
+    private ConfigurableApplicationContext context;
+    private VaccineService vaccineService;
+    private String middleName;
+    private Long middleId;
+
+    @Setup
+    public void setUp() throws VaccineNotFoundExcep {
+        context = BenchmarkContext.start(catalogueSize);
+        vaccineService = context.getBean(VaccineService.class);
+        middleName = BenchmarkContext.nameOf(catalogueSize / 2);
+        middleId = vaccineService.findByName(middleName).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public VaccineDTO increment() throws VaccineNotFoundExcep, VaccineStockExceedException {
+        return vaccineService.increment(middleId, 1);
+    }
+
+    @Benchmark
+    public VaccineDTO findByNameCached() throws VaccineNotFoundExcep {
+        return vaccineService.findByName(middleName);
+    }
+
+    @Benchmark
+    public List<VaccineDTO> listAllFirstPage() {
+        return vaccineService.listAll(FIRST_PAGE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportAll(Blackhole blackhole) {
+        vaccineService.exportAll(blackhole::consume);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vaccine.alert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingStockAlertSink implements StockAlertSink {
+
+    @Override
+    public void publish(StockAlert alert) {
+        if (alert.isRaised()) {
+            log.warn("Stock alert raised for vaccine {} ({}): {}, quantity {} of max {}",
+                    alert.getVaccineName(), alert.getVaccineId(), alert.getLevel().getDescription(), alert.getQuantity(), alert.getMax());
+        } else {
+            log.info("Stock alert cleared for vaccine {} ({}): was {}, quantity {} of max {}",
+                    alert.getVaccineName(), alert.getVaccineId(), alert.getPreviousLevel().getDescription(), alert.getQuantity(), alert.getMax());
+        }
+    }
+}
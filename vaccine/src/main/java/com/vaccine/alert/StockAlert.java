@@ -0,0 +1,37 @@
+package com.vaccine.alert;
+
+import com.vaccine.enums.StockAlertLevel;
+import com.vaccine.enums.VaccineType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlert {
+
+    private Long vaccineId;
+
+    private String vaccineName;
+
+    private VaccineType type;
+
+    private StockAlertLevel previousLevel;
+
+    private StockAlertLevel level;
+
+    private int quantity;
+
+    private int max;
+
+    private Instant occurredAt;
+
+    public boolean isRaised() {
+        return level != StockAlertLevel.NORMAL;
+    }
+}
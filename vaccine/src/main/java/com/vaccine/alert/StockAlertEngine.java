@@ -0,0 +1,119 @@
+package com.vaccine.alert;
+
+import com.vaccine.config.StockAlertProperties;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockAlertLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class StockAlertEngine {
+
+    private final StockAlertProperties properties;
+    private final List<StockAlertSink> sinks;
+    private final Map<Long, AlertState> states = new ConcurrentHashMap<>();
+
+    public StockAlertEngine(StockAlertProperties properties, List<StockAlertSink> sinks) {
+        this.properties = properties;
+        this.sinks = sinks;
+    }
+
+    public void evaluate(Vaccine vaccine) {
+        StockAlert[] alert = new StockAlert[1];
+        states.compute(vaccine.getId(), (id, state) -> {
+            if (state != null && isOlder(vaccine.getVersion(), state.version)) {
+                return state;
+            }
+            StockAlertLevel previousLevel = state == null ? StockAlertLevel.NORMAL : state.level;
+            StockAlertLevel level = nextLevel(previousLevel, vaccine);
+            if (level != previousLevel) {
+                alert[0] = toAlert(vaccine, previousLevel, level);
+            }
+            return new AlertState(vaccine.getVersion(), level);
+        });
+        if (alert[0] != null) {
+            publish(alert[0]);
+        }
+    }
+
+    public void forget(Long id) {
+        states.remove(id);
+    }
+
+    private StockAlertLevel nextLevel(StockAlertLevel currentLevel, Vaccine vaccine) {
+        int reorderPoint = thresholdOf(vaccine, StockAlertProperties.Threshold::getReorderPoint);
+        int capacityPoint = (int) Math.ceil(thresholdOf(vaccine, StockAlertProperties.Threshold::getCapacityRatio) * vaccine.getMax());
+        int band = Math.max(1, (int) Math.ceil(properties.getHysteresis() * vaccine.getMax()));
+        int quantity = vaccine.getQuantity();
+        if (quantity <= reorderPoint) {
+            return StockAlertLevel.LOW_STOCK;
+        }
+        if (quantity >= capacityPoint) {
+            return StockAlertLevel.NEAR_CAPACITY;
+        }
+        if (currentLevel == StockAlertLevel.LOW_STOCK && quantity <= reorderPoint + band) {
+            return StockAlertLevel.LOW_STOCK;
+        }
+        if (currentLevel == StockAlertLevel.NEAR_CAPACITY && quantity >= capacityPoint - band) {
+            return StockAlertLevel.NEAR_CAPACITY;
+        }
+        return StockAlertLevel.NORMAL;
+    }
+
+    private <T> T thresholdOf(Vaccine vaccine, Function<StockAlertProperties.Threshold, T> value) {
+        StockAlertProperties.Threshold byVaccine = properties.getVaccines().get(vaccine.getName());
+        if (byVaccine != null && value.apply(byVaccine) != null) {
+            return value.apply(byVaccine);
+        }
+        StockAlertProperties.Threshold byType = properties.getTypes().get(vaccine.getType());
+        if (byType != null && value.apply(byType) != null) {
+            return value.apply(byType);
+        }
+        return value.apply(properties.getDefaults());
+    }
+
+    private static boolean isOlder(Long version, Long evaluatedVersion) {
+        return version != null && evaluatedVersion != null && version < evaluatedVersion;
+    }
+
+    private StockAlert toAlert(Vaccine vaccine, StockAlertLevel previousLevel, StockAlertLevel level) {
+        return StockAlert.builder()
+                .vaccineId(vaccine.getId())
+                .vaccineName(vaccine.getName())
+                .type(vaccine.getType())
+                .previousLevel(previousLevel)
+                .level(level)
+                .quantity(vaccine.getQuantity())
+                .max(vaccine.getMax())
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private void publish(StockAlert alert) {
+        for (StockAlertSink sink : sinks) {
+            try {
+                sink.publish(alert);
+            } catch (RuntimeException e) {
+                log.error("Stock alert sink {} failed for vaccine {}", sink.getClass().getSimpleName(), alert.getVaccineId(), e);
+            }
+        }
+    }
+
+    private static class AlertState {
+
+        private final Long version;
+        private final StockAlertLevel level;
+
+        private AlertState(Long version, StockAlertLevel level) {
+            this.version = version;
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.vaccine.alert;
+
+public interface StockAlertSink {
+
+    void publish(StockAlert alert);
+}
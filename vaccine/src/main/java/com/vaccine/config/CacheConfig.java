@@ -0,0 +1,12 @@
+package com.vaccine.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String VACCINES_BY_NAME_CACHE = "vaccinesByName";
+
+}
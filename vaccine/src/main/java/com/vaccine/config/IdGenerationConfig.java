@@ -0,0 +1,25 @@
+package com.vaccine.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Configuration
+public class IdGenerationConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(@Value("${vaccine.id.allocation-size:50}") int allocationSize) {
+        return properties -> properties.put(ConfigurableSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+    }
+
+    @Component
+    static class EntityManagerFactoryDependsOnVaccineIdSequenceMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnVaccineIdSequenceMigration() {
+            super(VaccineIdSequenceMigration.class);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vaccine.config;
+
+import com.vaccine.service.StockHistory;
+import com.vaccine.service.StockIncrementBuffer;
+import com.vaccine.service.StockLedger;
+import com.vaccine.service.StockLotService;
+import com.vaccine.service.StockSummary;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(StockLedger.class, StockHistory.class, StockSummary.class, StockIncrementBuffer.class, StockLotService.class);
+    }
+}
@@ -0,0 +1,20 @@
+package com.vaccine.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vaccine.startup.exit-when-ready", havingValue = "true")
+public class StartupTrainingRun {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        log.info("Startup training run finished, exiting so the JVM can dump its class data archive");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
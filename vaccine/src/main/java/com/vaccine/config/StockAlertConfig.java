@@ -0,0 +1,10 @@
+package com.vaccine.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StockAlertProperties.class)
+public class StockAlertConfig {
+
+}
@@ -0,0 +1,34 @@
+package com.vaccine.config;
+
+import com.vaccine.enums.VaccineType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "vaccine.alerts")
+public class StockAlertProperties {
+
+    private Threshold defaults = new Threshold(10, 0.95);
+
+    private double hysteresis = 0.05;
+
+    private Map<VaccineType, Threshold> types = new EnumMap<>(VaccineType.class);
+
+    private Map<String, Threshold> vaccines = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Threshold {
+
+        private Integer reorderPoint;
+
+        private Double capacityRatio;
+    }
+}
@@ -1,46 +0,0 @@
-package com.vaccine.config;
-
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import springfox.documentation.builders.ApiInfoBuilder;
-import springfox.documentation.builders.PathSelectors;
-import springfox.documentation.service.ApiInfo;
-import springfox.documentation.service.Contact;
-import springfox.documentation.spi.DocumentationType;
-import springfox.documentation.spring.web.plugins.Docket;
-import springfox.documentation.swagger2.annotations.EnableSwagger2;
-
-import static springfox.documentation.builders.RequestHandlerSelectors.basePackage;
-
-@Configuration
-@EnableSwagger2
-public class SwaggerConfig {
-
-    private static final String BASE_PACKAGE = "com.vaccine.controller";
-    private static final String API_TITLE = "Vaccine stock API";
-    private static final String API_DESCRIPTION = "REST API for vaccine stock management";
-    private static final String CONTACT_NAME = "Flavio Rodrigues";
-    private static final String CONTACT_GITHUB = "https://github.com/MrKroemer";
-    private static final String CONTACT_EMAIL = "fravumusi@gmail.com";
-
-
-    @Bean
-    public Docket api() {
-        return new Docket(DocumentationType.SWAGGER_2)
-                .select()
-                .apis(basePackage(BASE_PACKAGE))
-                .paths(PathSelectors.any())
-                .build()
-                .apiInfo(buildApiInfo());
-    }
-    private ApiInfo buildApiInfo(){
-        return new ApiInfoBuilder()
-                .title(API_TITLE)
-                .description(API_DESCRIPTION)
-                .version("1.0.0")
-                .contact(new Contact(CONTACT_NAME, CONTACT_EMAIL, CONTACT_GITHUB))
-                .build();
-    }
-
-}
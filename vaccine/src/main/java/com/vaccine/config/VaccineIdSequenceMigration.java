@@ -0,0 +1,67 @@
+package com.vaccine.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+@Slf4j
+@Component
+@DependsOn("flywayInitializer")
+public class VaccineIdSequenceMigration {
+
+    public static final String SEQUENCE_NAME = "vaccine_seq";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    public VaccineIdSequenceMigration(DataSource dataSource,
+                                      @Value("${vaccine.id.allocation-size:50}") int allocationSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.allocationSize = allocationSize;
+    }
+
+    @PostConstruct
+    public void migrate() throws SQLException {
+        if (!vaccineTableExists()) {
+            return;
+        }
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM vaccine", Long.class);
+        long increment = Long.parseLong(jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = ?", String.class, SEQUENCE_NAME));
+        if (increment != allocationSize) {
+            jdbcTemplate.execute(String.format("ALTER SEQUENCE %s INCREMENT BY %d", SEQUENCE_NAME, allocationSize));
+            log.info("Changed the increment of {} from {} to {}", SEQUENCE_NAME, increment, allocationSize);
+        }
+        long nextId = jdbcTemplate.queryForObject(String.format("SELECT NEXTVAL('%s')", SEQUENCE_NAME), Long.class);
+        if (nextId <= maxId) {
+            jdbcTemplate.execute(String.format("ALTER SEQUENCE %s RESTART WITH %d", SEQUENCE_NAME, maxId + 1));
+            log.info("Moved {} past the highest vaccine id {}", SEQUENCE_NAME, maxId);
+        }
+    }
+
+    private boolean vaccineTableExists() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String tableName : new String[]{"vaccine", "vaccine".toUpperCase(Locale.ROOT)}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, tableName, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
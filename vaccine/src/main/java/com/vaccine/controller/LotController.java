@@ -0,0 +1,45 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.DispenseDTO;
+import com.vaccine.dto.LotAllocationDTO;
+import com.vaccine.dto.StockLotDTO;
+import com.vaccine.exception.LotAlreadyRegException;
+import com.vaccine.exception.LotStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.service.StockLotService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/vaccines/{id}/lots")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class LotController implements LotControllerDocs {
+
+    private final StockLotService stockLotService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public StockLotDTO receive(@PathVariable Long id, @RequestBody @Valid StockLotDTO stockLotDTO)
+            throws VaccineNotFoundExcep, VaccineStockExceedException, LotAlreadyRegException {
+        return stockLotService.receive(id, stockLotDTO);
+    }
+
+    @GetMapping
+    public List<StockLotDTO> listAvailable(@PathVariable Long id) throws VaccineNotFoundExcep {
+        return stockLotService.listAvailable(id);
+    }
+
+    @PatchMapping("/dispense")
+    public List<LotAllocationDTO> dispense(@PathVariable Long id, @RequestBody @Valid DispenseDTO dispenseDTO)
+            throws VaccineNotFoundExcep, LotStockInsufficientException {
+        return stockLotService.dispense(id, dispenseDTO.getQuantity());
+    }
+}
@@ -0,0 +1,41 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.DispenseDTO;
+import com.vaccine.dto.LotAllocationDTO;
+import com.vaccine.dto.StockLotDTO;
+import com.vaccine.exception.LotAlreadyRegException;
+import com.vaccine.exception.LotStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.List;
+
+@Api("Manager vaccine stock held in lots with expiry dates")
+public interface LotControllerDocs {
+    @ApiOperation(value = "Receives a lot of a vaccine and adds its doses to the global stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Lot received and available for dispensing"),
+            @ApiResponse(code = 400, message = "Missing fields, expired lot, lot already registered or max stock exceeded"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found")
+    })
+    StockLotDTO receive(Long id, StockLotDTO stockLotDTO) throws VaccineNotFoundExcep, VaccineStockExceedException, LotAlreadyRegException;
+
+    @ApiOperation(value = "Returns the available lots of a vaccine, first expiry first")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Available lots in dispensing order"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found")
+    })
+    List<StockLotDTO> listAvailable(Long id) throws VaccineNotFoundExcep;
+
+    @ApiOperation(value = "Dispenses doses of a vaccine from its unexpired lots, first expiry first")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Doses taken from each lot, in the order they were allocated"),
+            @ApiResponse(code = 400, message = "Unexpired lots hold fewer doses than requested, nothing is dispensed"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found")
+    })
+    List<LotAllocationDTO> dispense(Long id, DispenseDTO dispenseDTO) throws VaccineNotFoundExcep, LotStockInsufficientException;
+}
@@ -0,0 +1,73 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.SiteCapacityDTO;
+import com.vaccine.dto.SiteDTO;
+import com.vaccine.dto.SiteStockDTO;
+import com.vaccine.dto.StockTransferDTO;
+import com.vaccine.dto.VaccineSiteStockDTO;
+import com.vaccine.exception.InvalidTransferException;
+import com.vaccine.exception.SiteAlreadyRegException;
+import com.vaccine.exception.SiteNotFoundException;
+import com.vaccine.exception.SiteStockExceedException;
+import com.vaccine.exception.SiteStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.service.SiteStockService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class SiteController implements SiteControllerDocs {
+
+    private final SiteStockService siteStockService;
+
+    @PostMapping("/sites")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SiteDTO createSite(@RequestBody @Valid SiteDTO siteDTO) throws SiteAlreadyRegException {
+        return siteStockService.createSite(siteDTO);
+    }
+
+    @GetMapping("/sites")
+    public List<SiteDTO> listSites() {
+        return siteStockService.listSites();
+    }
+
+    @GetMapping("/vaccines/{id}/sites")
+    public VaccineSiteStockDTO listStock(@PathVariable Long id) throws VaccineNotFoundExcep {
+        return siteStockService.listStock(id);
+    }
+
+    @PutMapping("/vaccines/{id}/sites/{siteId}")
+    public SiteStockDTO setCapacity(@PathVariable Long id, @PathVariable Long siteId, @RequestBody @Valid SiteCapacityDTO siteCapacityDTO)
+            throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockExceedException {
+        return siteStockService.setCapacity(id, siteId, siteCapacityDTO.getMax());
+    }
+
+    @PatchMapping("/vaccines/{id}/sites/{siteId}/increment")
+    public SiteStockDTO increment(@PathVariable Long id, @PathVariable Long siteId, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws VaccineNotFoundExcep, VaccineStockExceedException, SiteNotFoundException, SiteStockExceedException {
+        return siteStockService.increment(id, siteId, quantityDTO.getQuantity());
+    }
+
+    @PatchMapping("/vaccines/{id}/sites/{siteId}/decrement")
+    public SiteStockDTO decrement(@PathVariable Long id, @PathVariable Long siteId, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockInsufficientException {
+        return siteStockService.decrement(id, siteId, quantityDTO.getQuantity());
+    }
+
+    @PostMapping("/vaccines/{id}/transfers")
+    public List<SiteStockDTO> transfer(@PathVariable Long id, @RequestBody @Valid StockTransferDTO stockTransferDTO)
+            throws VaccineNotFoundExcep, InvalidTransferException, SiteNotFoundException, SiteStockInsufficientException, SiteStockExceedException {
+        return siteStockService.transfer(id, stockTransferDTO.getFromSiteId(), stockTransferDTO.getToSiteId(), stockTransferDTO.getQuantity());
+    }
+}
@@ -0,0 +1,76 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.SiteCapacityDTO;
+import com.vaccine.dto.SiteDTO;
+import com.vaccine.dto.SiteStockDTO;
+import com.vaccine.dto.StockTransferDTO;
+import com.vaccine.dto.VaccineSiteStockDTO;
+import com.vaccine.exception.InvalidTransferException;
+import com.vaccine.exception.SiteAlreadyRegException;
+import com.vaccine.exception.SiteNotFoundException;
+import com.vaccine.exception.SiteStockExceedException;
+import com.vaccine.exception.SiteStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.List;
+
+@Api("Manager vaccine stock per cold-storage site")
+public interface SiteControllerDocs {
+    @ApiOperation(value = "Site creation operation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success site creation"),
+            @ApiResponse(code = 400, message = "Missing name or site already registered")
+    })
+    SiteDTO createSite(SiteDTO siteDTO) throws SiteAlreadyRegException;
+
+    @ApiOperation(value = "Returns every site registered in the system")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Sites in id order"),
+    })
+    List<SiteDTO> listSites();
+
+    @ApiOperation(value = "Returns the global stock of a vaccine and its breakdown per site")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Totals come from the vaccine itself, followed by one entry per site holding it"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found")
+    })
+    VaccineSiteStockDTO listStock(Long id) throws VaccineNotFoundExcep;
+
+    @ApiOperation(value = "Sets how many doses of a vaccine a site can hold")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Capacity set, the site stock is created empty when missing"),
+            @ApiResponse(code = 400, message = "Site already holds more doses than the new capacity"),
+            @ApiResponse(code = 404, message = "Vaccine or site with given id not found")
+    })
+    SiteStockDTO setCapacity(Long id, Long siteId, SiteCapacityDTO siteCapacityDTO) throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockExceedException;
+
+    @ApiOperation(value = "Adds doses to the stock of a vaccine at a site and to its global stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock incremented at the site"),
+            @ApiResponse(code = 400, message = "Site capacity would be exceeded"),
+            @ApiResponse(code = 404, message = "Vaccine not found or not stocked at the site")
+    })
+    SiteStockDTO increment(Long id, Long siteId, QuantityDTO quantityDTO) throws VaccineNotFoundExcep, VaccineStockExceedException, SiteNotFoundException, SiteStockExceedException;
+
+    @ApiOperation(value = "Removes doses from the stock of a vaccine at a site and from its global stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock decremented at the site"),
+            @ApiResponse(code = 400, message = "Stock at the site is lower than the doses to remove"),
+            @ApiResponse(code = 404, message = "Vaccine not found or not stocked at the site")
+    })
+    SiteStockDTO decrement(Long id, Long siteId, QuantityDTO quantityDTO) throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockInsufficientException;
+
+    @ApiOperation(value = "Moves doses of a vaccine from one site to another atomically, global stock is unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock of the source and destination sites after the transfer"),
+            @ApiResponse(code = 400, message = "Same site on both ends, not enough stock at the source or no room at the destination"),
+            @ApiResponse(code = 404, message = "Vaccine not found or not stocked at one of the sites")
+    })
+    List<SiteStockDTO> transfer(Long id, StockTransferDTO stockTransferDTO) throws VaccineNotFoundExcep, InvalidTransferException, SiteNotFoundException, SiteStockInsufficientException, SiteStockExceedException;
+}
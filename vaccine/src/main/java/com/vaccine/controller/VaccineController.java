@@ -1,47 +1,211 @@
 package com.vaccine.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vaccine.service.VaccineCatalogue;
+import com.vaccine.service.VaccineImportService;
 import com.vaccine.service.VaccineService;
 import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockMovementBatchDTO;
+import com.vaccine.dto.StockMovementResultDTO;
 import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.dto.VaccineTypeSummaryDTO;
+import com.vaccine.exception.InvalidHistoryRangeException;
+import com.vaccine.enums.ImportFormat;
 import com.vaccine.exception.VaccineAlreadyRegException;
+import com.vaccine.exception.VaccineImportException;
 import com.vaccine.exception.VaccineNotFoundExcep;
 import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.exception.VaccineVersionMismatchException;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/vaccines")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
-public class VaccineController {
+public class VaccineController implements VaccineControllerDocs {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final Duration DEFAULT_HISTORY_RANGE = Duration.ofDays(1);
 
     private final VaccineService vaccineService;
+    private final VaccineImportService vaccineImportService;
+    private final VaccineCatalogue vaccineCatalogue;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public VaccineDTO createVacine(@RequestBody @Valid VaccineDTO vaccineDTO) throws VaccineAlreadyRegException, VaccineStockExceedException {
+    public VaccineDTO createVaccine(@RequestBody @Valid VaccineDTO vaccineDTO) throws VaccineAlreadyRegException, VaccineStockExceedException {
      return vaccineService.createVaccine(vaccineDTO);
     }
      @GetMapping("/{name}")
-     public VaccineDTO findByName(@PathVariable String name) throws VaccineNotFoundExcep{
-        return vaccineService.findByName(name);
+     public ResponseEntity<VaccineDTO> findByName(@PathVariable String name) throws VaccineNotFoundExcep{
+        VaccineDTO vaccineDTO = vaccineService.findByName(name);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(String.valueOf(vaccineDTO.getVersion()))
+                .body(vaccineDTO);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<VaccineDTO> updateVaccine(@PathVariable Long id, @RequestBody @Valid VaccineDTO vaccineDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws VaccineNotFoundExcep, VaccineVersionMismatchException, VaccineStockExceedException, VaccineUpdateConflictException {
+        return withETag(vaccineService.updateVaccine(id, vaccineDTO, expectedVersion(ifMatch)));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listVaccines(@RequestParam(required = false) Long cursor,
+                                               @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = "id") Pageable pageable,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        VaccineCatalogue.Listing listing = cursor == null
+                ? vaccineCatalogue.page(pageable, () -> vaccineService.listAll(pageable))
+                : vaccineCatalogue.after(cursor, pageable.getPageSize(), () -> vaccineService.listAfter(cursor, pageable.getPageSize()));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(gzip ? listing.getGzippedETag() : listing.getETag());
+        if (listing.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(listing.getNextCursor()));
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING).body(listing.getGzippedJson());
+        }
+        return response.body(listing.getJson());
+    }
+    @GetMapping("/summary")
+    public List<VaccineTypeSummaryDTO> summarize(){
+        return vaccineService.summarize();
+    }
+    @GetMapping("/{id}/history")
+    public StockHistoryDTO history(@PathVariable Long id,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                   @RequestParam(defaultValue = "1h") String step) throws VaccineNotFoundExcep, InvalidHistoryRangeException {
+        Instant historyTo = to == null ? Instant.now() : to;
+        Instant historyFrom = from == null ? historyTo.minus(DEFAULT_HISTORY_RANGE) : from;
+        return vaccineService.history(id, historyFrom, historyTo, historyStep(step));
+    }
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public StreamingResponseBody exportVaccines(){
+        ObjectWriter writer = objectMapper.writerFor(VaccineDTO.class);
+        return outputStream -> {
+            outputStream.flush();
+            vaccineService.exportAll(vaccineDTO -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(vaccineDTO));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
     }
 
-    @GetMapping
-    public List<VaccineDTO> listVaccines(){
-        return vaccineService.listAll();
+    @PostMapping(value = "/import", consumes = {CSV_MEDIA_TYPE, NDJSON_MEDIA_TYPE})
+    public VaccineImportReportDTO importVaccines(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+            throws IOException, VaccineImportException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        ImportFormat format = mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE)) ? ImportFormat.CSV : ImportFormat.NDJSON;
+        Charset charset = mediaType.getCharset() == null ? StandardCharsets.UTF_8 : mediaType.getCharset();
+        return vaccineImportService.importVaccines(new InputStreamReader(body, charset), format);
     }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteById(@PathVariable Long id) throws VaccineNotFoundExcep, VaccineNotFoundExcep{
-        vaccineService.deleteById(id);
+    public void deleteById(@PathVariable Long id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws VaccineNotFoundExcep, VaccineVersionMismatchException{
+        vaccineService.deleteById(id, expectedVersion(ifMatch));
     }
     @PatchMapping("/{id}/increment")
-    public VaccineDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO)throws VaccineNotFoundExcep, VaccineStockExceedException{
-        return vaccineService.increment(id, quantityDTO.getQuantity());
+    public ResponseEntity<VaccineDTO> increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)throws VaccineNotFoundExcep, VaccineStockExceedException, VaccineVersionMismatchException{
+        return withETag(vaccineService.increment(id, quantityDTO.getQuantity(), expectedVersion(ifMatch)));
+    }
+    @PatchMapping("/{id}/decrement")
+    public ResponseEntity<VaccineDTO> decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)throws VaccineNotFoundExcep, VaccineStockInsufficientException, VaccineVersionMismatchException{
+        return withETag(vaccineService.decrement(id, quantityDTO.getQuantity(), expectedVersion(ifMatch)));
+    }
+    @PostMapping("/stock-movements:batch")
+    public List<StockMovementResultDTO> applyStockMovements(@RequestBody @Valid StockMovementBatchDTO stockMovementBatchDTO) {
+        return vaccineService.applyStockMovements(stockMovementBatchDTO.getMovements());
+    }
+
+    private static ResponseEntity<VaccineDTO> withETag(VaccineDTO vaccineDTO) {
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(vaccineDTO.getVersion()))
+                .body(vaccineDTO);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.trim().split(";");
+            if (parameters[0].trim().equalsIgnoreCase(GZIP_ENCODING)) {
+                return parameters.length == 1 || !parameters[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static Duration historyStep(String step) {
+        try {
+            return DurationStyle.detectAndParse(step);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "step must be a duration such as 5m, 1h or PT1H");
+        }
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String version = ifMatch.trim();
+        if (version.startsWith("W/")) {
+            version = version.substring(2);
+        }
+        try {
+            return Long.valueOf(version.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must carry a vaccine version ETag");
+        }
     }
 }
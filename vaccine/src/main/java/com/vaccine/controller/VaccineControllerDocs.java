@@ -1,14 +1,33 @@
 package com.vaccine.controller;
 
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockMovementBatchDTO;
+import com.vaccine.dto.StockMovementResultDTO;
 import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.dto.VaccineTypeSummaryDTO;
+import com.vaccine.exception.InvalidHistoryRangeException;
 import com.vaccine.exception.VaccineAlreadyRegException;
+import com.vaccine.exception.VaccineImportException;
 import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.exception.VaccineVersionMismatchException;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 @Api("Manager vaccine stock")
@@ -19,25 +38,95 @@ public interface VaccineControllerDocs {
             @ApiResponse(code = 201, message = "Success vaccine creation"),
             @ApiResponse(code = 400, message = "Missing required fields or wrong field range value.")
     })
-    VaccineDTO createVaccine(VaccineDTO vaccineDTO) throws VaccineAlreadyRegException;
+    VaccineDTO createVaccine(VaccineDTO vaccineDTO) throws VaccineAlreadyRegException, VaccineStockExceedException;
 
     @ApiOperation(value = "Returns vaccine found by a given name")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Success vaccine found in the system"),
+            @ApiResponse(code = 200, message = "Success vaccine found in the system, ETag carries its version"),
+            @ApiResponse(code = 304, message = "Vaccine is still at the If-None-Match version"),
             @ApiResponse(code = 404, message = "Vaccine with given name not found")
     })
-    VaccineDTO findByName(@PathVariable String name) throws VaccineNotFoundExcep;
+    ResponseEntity<VaccineDTO> findByName(String name) throws VaccineNotFoundExcep;
 
-    @ApiOperation(value = "Returns a list of all vaccines registered in the system")
+    @ApiOperation(value = "Update brand, max stock and type of a vaccine, optionally only if it is still at the If-Match version")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "List of all vaccines registered in the system"),
+            @ApiResponse(code = 200, message = "Vaccine updated, ETag carries the new version"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found"),
+            @ApiResponse(code = 409, message = "Vaccine kept changing concurrently, retry later"),
+            @ApiResponse(code = 412, message = "Vaccine is no longer at the If-Match version")
     })
-    List<VaccineDTO> listVaccines();
+    ResponseEntity<VaccineDTO> updateVaccine(Long id, VaccineDTO vaccineDTO, String ifMatch) throws VaccineNotFoundExcep, VaccineVersionMismatchException, VaccineStockExceedException, VaccineUpdateConflictException;
 
-    @ApiOperation(value = "Delete a vaccine found by given valid id")
+    @ApiOperation(value = "Returns a page of vaccines registered in the system, by page number or after a cursor id",
+            response = VaccineDTO.class, responseContainer = "List")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", paramType = "query", dataType = "int", defaultValue = "0"),
+            @ApiImplicitParam(name = "size", paramType = "query", dataType = "int", defaultValue = "20"),
+            @ApiImplicitParam(name = "sort", paramType = "query", dataType = "string", defaultValue = "id")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Page of vaccines registered in the system, with X-Next-Cursor when more may follow and gzipped when accepted"),
+            @ApiResponse(code = 304, message = "Page is unchanged since the If-None-Match ETag"),
+    })
+    ResponseEntity<byte[]> listVaccines(Long cursor, Pageable pageable, String acceptEncoding);
+
+    @ApiOperation(value = "Returns stock totals, capacity and utilisation per vaccine type")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "One entry per vaccine type, served from counters reconciled periodically with the database"),
+    })
+    List<VaccineTypeSummaryDTO> summarize();
+
+    @ApiOperation(value = "Returns stock of a vaccine over time, one point per step, served from minute, hour or day rollups")
     @ApiResponses(value = {
-            @ApiResponse(code = 294, message = "Succes vacine deleted in the system"),
+            @ApiResponse(code = 200, message = "Closing, min and max quantity per step, the rollup resolution is picked from the step"),
+            @ApiResponse(code = 400, message = "Range is empty, step is below one minute or too many points are requested"),
             @ApiResponse(code = 404, message = "Vaccine with given id not found")
     })
-    void deleteById(@PathVariable Long id) throws VaccineNotFoundExcep;
+    StockHistoryDTO history(Long id, Instant from, Instant to, String step) throws VaccineNotFoundExcep, InvalidHistoryRangeException;
+
+    @ApiOperation(value = "Streams every vaccine as newline-delimited JSON", response = VaccineDTO.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "One vaccine per line, in id order"),
+    })
+    StreamingResponseBody exportVaccines();
+
+    @ApiOperation(value = "Imports vaccines from a CSV (name,brand,max,quantity,classification) or NDJSON body, in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Number of imported vaccines and the errors of every rejected row"),
+            @ApiResponse(code = 400, message = "CSV header is missing or lacks required columns"),
+            @ApiResponse(code = 415, message = "Body is neither text/csv nor application/x-ndjson")
+    })
+    VaccineImportReportDTO importVaccines(String contentType, InputStream body) throws IOException, VaccineImportException;
+
+    @ApiOperation(value = "Delete a vaccine found by given valid id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Succes vacine deleted in the system"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found"),
+            @ApiResponse(code = 412, message = "Vaccine is no longer at the If-Match version")
+    })
+    void deleteById(Long id, String ifMatch) throws VaccineNotFoundExcep, VaccineVersionMismatchException;
+
+    @ApiOperation(value = "Adds doses to the stock of a vaccine, optionally only if it is still at the If-Match version")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock incremented, ETag carries the new version"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found"),
+            @ApiResponse(code = 412, message = "Vaccine is no longer at the If-Match version")
+    })
+    ResponseEntity<VaccineDTO> increment(Long id, QuantityDTO quantityDTO, String ifMatch) throws VaccineNotFoundExcep, VaccineStockExceedException, VaccineVersionMismatchException;
+
+    @ApiOperation(value = "Removes doses from the stock of a vaccine, optionally only if it is still at the If-Match version")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock decremented, ETag carries the new version"),
+            @ApiResponse(code = 400, message = "Stock is lower than the doses to remove"),
+            @ApiResponse(code = 404, message = "Vaccine with given id not found"),
+            @ApiResponse(code = 412, message = "Vaccine is no longer at the If-Match version")
+    })
+    ResponseEntity<VaccineDTO> decrement(Long id, QuantityDTO quantityDTO, String ifMatch) throws VaccineNotFoundExcep, VaccineStockInsufficientException, VaccineVersionMismatchException;
+
+    @ApiOperation(value = "Applies stock movements to many vaccines in one transaction, each movement reporting its own outcome")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "One result per movement: applied, exceeded, insufficient or not found"),
+            @ApiResponse(code = 400, message = "Batch is empty or too large")
+    })
+    List<StockMovementResultDTO> applyStockMovements(StockMovementBatchDTO stockMovementBatchDTO);
 }
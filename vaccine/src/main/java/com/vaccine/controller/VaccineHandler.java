@@ -0,0 +1,132 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.service.ReactiveVaccineService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class VaccineHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveVaccineService reactiveVaccineService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createVaccine(ServerRequest request) {
+        return request.bodyToMono(VaccineDTO.class)
+                .flatMap(this::validate)
+                .flatMap(reactiveVaccineService::createVaccine)
+                .flatMap(vaccineDTO -> ServerResponse.status(HttpStatus.CREATED).bodyValue(vaccineDTO))
+                .onErrorResume(this::toErrorResponse);
+    }
+
+    public Mono<ServerResponse> findByName(ServerRequest request) {
+        return reactiveVaccineService.findByName(request.pathVariable("name"))
+                .flatMap(vaccineDTO -> ServerResponse.ok().bodyValue(vaccineDTO))
+                .onErrorResume(this::toErrorResponse);
+    }
+
+    public Mono<ServerResponse> listVaccines(ServerRequest request) {
+        int size;
+        int page;
+        Optional<Long> cursor;
+        try {
+            size = Math.min(request.queryParam("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+            page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+            cursor = request.queryParam("cursor").map(Long::parseLong);
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().bodyValue("page, size and cursor must be numbers");
+        }
+        if (size < 1 || page < 0) {
+            return ServerResponse.badRequest().bodyValue("size must be positive and page must not be negative");
+        }
+        Flux<VaccineDTO> vaccines = cursor
+                .map(after -> reactiveVaccineService.listAfter(after, size))
+                .orElseGet(() -> reactiveVaccineService.listAll(PageRequest.of(page, size, Sort.by("id"))));
+        if (cursor.isEmpty()) {
+            return ServerResponse.ok().contentType(responseType(request)).body(vaccines, VaccineDTO.class);
+        }
+        return vaccines.collectList()
+                .flatMap(list -> list.size() < size
+                        ? ServerResponse.ok().bodyValue(list)
+                        : ServerResponse.ok()
+                                .header(NEXT_CURSOR_HEADER, String.valueOf(list.get(list.size() - 1).getId()))
+                                .bodyValue(list));
+    }
+
+    public Mono<ServerResponse> exportVaccines(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveVaccineService.exportAll(), VaccineDTO.class);
+    }
+
+    public Mono<ServerResponse> deleteById(ServerRequest request) {
+        return reactiveVaccineService.deleteById(Long.valueOf(request.pathVariable("id")))
+                .then(ServerResponse.noContent().build())
+                .onErrorResume(this::toErrorResponse);
+    }
+
+    public Mono<ServerResponse> increment(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        return request.bodyToMono(QuantityDTO.class)
+                .flatMap(this::validate)
+                .flatMap(quantityDTO -> reactiveVaccineService.increment(id, quantityDTO.getQuantity()))
+                .flatMap(vaccineDTO -> ServerResponse.ok().bodyValue(vaccineDTO))
+                .onErrorResume(this::toErrorResponse);
+    }
+
+    public Mono<ServerResponse> decrement(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        return request.bodyToMono(QuantityDTO.class)
+                .flatMap(this::validate)
+                .flatMap(quantityDTO -> reactiveVaccineService.decrement(id, quantityDTO.getQuantity()))
+                .flatMap(vaccineDTO -> ServerResponse.ok().bodyValue(vaccineDTO))
+                .onErrorResume(this::toErrorResponse);
+    }
+
+    private MediaType responseType(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+
+    private <T> Mono<T> validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if (violations.isEmpty()) {
+            return Mono.just(body);
+        }
+        return Mono.error(new ServerWebInputException(violations.toString()));
+    }
+
+    private Mono<ServerResponse> toErrorResponse(Throwable e) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        if (responseStatus == null) {
+            return Mono.error(e);
+        }
+        return ServerResponse.status(responseStatus.code()).bodyValue(e.getMessage());
+    }
+}
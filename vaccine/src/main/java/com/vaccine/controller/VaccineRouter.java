@@ -0,0 +1,29 @@
+package com.vaccine.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@Profile("reactive")
+public class VaccineRouter {
+
+    private static final String VACCINE_API_URL_PATH = "/api/v1/vaccines";
+
+    @Bean
+    public RouterFunction<ServerResponse> vaccineRoutes(VaccineHandler vaccineHandler) {
+        return RouterFunctions.route()
+                .path(VACCINE_API_URL_PATH, builder -> builder
+                        .POST("", vaccineHandler::createVaccine)
+                        .GET("", vaccineHandler::listVaccines)
+                        .GET("/export", vaccineHandler::exportVaccines)
+                        .GET("/{name}", vaccineHandler::findByName)
+                        .DELETE("/{id}", vaccineHandler::deleteById)
+                        .PATCH("/{id}/increment", vaccineHandler::increment)
+                        .PATCH("/{id}/decrement", vaccineHandler::decrement))
+                .build();
+    }
+}
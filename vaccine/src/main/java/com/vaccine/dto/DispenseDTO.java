@@ -0,0 +1,20 @@
+package com.vaccine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispenseDTO {
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+}
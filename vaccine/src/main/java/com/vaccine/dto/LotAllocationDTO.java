@@ -0,0 +1,23 @@
+package com.vaccine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LotAllocationDTO {
+
+    private Long lotId;
+
+    private String lotNumber;
+
+    private LocalDate expiryDate;
+
+    private int quantity;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 
 @Data
 @Builder
@@ -15,6 +16,7 @@ import javax.validation.constraints.NotNull;
 public class QuantityDTO {
 
     @NotNull
+    @Positive
     @Max(100)
     private Integer quantity;
 }
@@ -0,0 +1,21 @@
+package com.vaccine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteStockDTO {
+
+    private Long siteId;
+
+    private String siteName;
+
+    private int max;
+
+    private int quantity;
+}
@@ -0,0 +1,34 @@
+package com.vaccine.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.vaccine.enums.RollupResolution;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryDTO {
+
+    private Long id;
+
+    private Instant from;
+
+    private Instant to;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    @ApiModelProperty(dataType = "string", example = "PT1H")
+    private Duration step;
+
+    private RollupResolution resolution;
+
+    private List<StockHistoryPointDTO> points;
+}
@@ -0,0 +1,36 @@
+package com.vaccine.dto;
+
+import com.vaccine.enums.LotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.FutureOrPresent;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLotDTO {
+
+    private Long id;
+
+    @NotNull
+    @Size(min = 1, max = 200)
+    private String lotNumber;
+
+    @NotNull
+    @FutureOrPresent
+    private LocalDate expiryDate;
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+
+    private LotStatus status;
+}
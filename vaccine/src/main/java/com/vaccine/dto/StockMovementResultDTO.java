@@ -0,0 +1,22 @@
+package com.vaccine.dto;
+
+import com.vaccine.enums.StockMovementStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementResultDTO {
+
+    private Long id;
+
+    private int delta;
+
+    private StockMovementStatus status;
+
+    private Integer quantity;
+}
@@ -1,13 +1,15 @@
 package com.vaccine.dto;
 
 import com.vaccine.enums.VaccineType;
-import com.sun.istack.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.Enumerated;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import javax.validation.constraints.Size;
 
 @Builder
@@ -26,17 +28,17 @@ public class VaccineDTO {
     @Size(min = 1, max = 200)
     private String brand;
 
-    @NotNull
-    @Size(min = 1, max = 200)
+    @Positive
     private double max;
 
-    @NotNull
-    @Size(min = 1, max = 200)
+    @PositiveOrZero
     private double quantity;
 
     @Enumerated
     @NotNull
     private VaccineType classification;
 
+    private Long version;
+
 
 }
@@ -0,0 +1,21 @@
+package com.vaccine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccineImportErrorDTO {
+
+    private long line;
+
+    private String name;
+
+    private List<String> messages;
+}
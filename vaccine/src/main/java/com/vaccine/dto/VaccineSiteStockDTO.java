@@ -0,0 +1,25 @@
+package com.vaccine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccineSiteStockDTO {
+
+    private Long vaccineId;
+
+    private int quantity;
+
+    private int siteQuantity;
+
+    private int unassignedQuantity;
+
+    private List<SiteStockDTO> sites;
+}
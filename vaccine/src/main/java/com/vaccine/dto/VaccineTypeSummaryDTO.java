@@ -0,0 +1,24 @@
+package com.vaccine.dto;
+
+import com.vaccine.enums.VaccineType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccineTypeSummaryDTO {
+
+    private VaccineType type;
+
+    private long vaccines;
+
+    private long quantity;
+
+    private long capacity;
+
+    private double utilisation;
+}
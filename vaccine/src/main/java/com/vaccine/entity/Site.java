@@ -0,0 +1,24 @@
+package com.vaccine.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Data
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_site_name", columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class Site {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "site_seq")
+    @SequenceGenerator(name = "site_seq", sequenceName = "site_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+}
@@ -0,0 +1,35 @@
+package com.vaccine.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Data
+@Entity
+@Table(name = "site_stock",
+        uniqueConstraints = @UniqueConstraint(name = "uk_site_stock_vaccine_site", columnNames = {"vaccineId", "siteId"}),
+        indexes = @Index(name = "ix_site_stock_site", columnList = "siteId"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class SiteStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "site_stock_seq")
+    @SequenceGenerator(name = "site_stock_seq", sequenceName = "site_stock_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long vaccineId;
+
+    @Column(nullable = false, updatable = false)
+    private Long siteId;
+
+    @Column(nullable = false)
+    private int max;
+
+    @Column(nullable = false)
+    private int quantity;
+
+}
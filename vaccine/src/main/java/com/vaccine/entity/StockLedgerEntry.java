@@ -0,0 +1,36 @@
+package com.vaccine.entity;
+
+import com.vaccine.enums.StockMovementReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "stock_ledger", indexes = @Index(name = "ix_stock_ledger_vaccine", columnList = "vaccineId, id"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_seq")
+    @SequenceGenerator(name = "stock_ledger_seq", sequenceName = "stock_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long vaccineId;
+
+    @Column(nullable = false, updatable = false)
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private StockMovementReason reason;
+
+    @Column(nullable = false, updatable = false)
+    private Instant occurredAt;
+
+}
@@ -0,0 +1,44 @@
+package com.vaccine.entity;
+
+import com.vaccine.enums.LotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "stock_lot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_lot_vaccine_lot_number", columnNames = {"vaccineId", "lotNumber"}),
+        indexes = {
+                @Index(name = "ix_stock_lot_fefo", columnList = "vaccineId, status, expiryDate, id"),
+                @Index(name = "ix_stock_lot_expiry", columnList = "status, expiryDate, id")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_lot_seq")
+    @SequenceGenerator(name = "stock_lot_seq", sequenceName = "stock_lot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long vaccineId;
+
+    @Column(nullable = false, updatable = false)
+    private String lotNumber;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDate expiryDate;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LotStatus status;
+
+}
@@ -0,0 +1,50 @@
+package com.vaccine.entity;
+
+import com.vaccine.enums.RollupResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "stock_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_stock_rollup_bucket",
+        columnNames = {"vaccineId", "resolution", "bucketStart"}),
+        indexes = {
+                @Index(name = "ix_stock_rollup_last_entry", columnList = "lastEntryId"),
+                @Index(name = "ix_stock_rollup_resolution_bucket", columnList = "resolution, bucketStart")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_rollup_seq")
+    @SequenceGenerator(name = "stock_rollup_seq", sequenceName = "stock_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long vaccineId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private RollupResolution resolution;
+
+    @Column(nullable = false, updatable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long minQuantity;
+
+    @Column(nullable = false)
+    private long maxQuantity;
+
+    @Column(nullable = false)
+    private long closingQuantity;
+
+    @Column(nullable = false)
+    private Long lastEntryId;
+
+}
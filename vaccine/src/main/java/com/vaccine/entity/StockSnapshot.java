@@ -0,0 +1,34 @@
+package com.vaccine.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "stock_snapshot", indexes = @Index(name = "ix_stock_snapshot_vaccine", columnList = "vaccineId, lastEntryId"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_snapshot_seq")
+    @SequenceGenerator(name = "stock_snapshot_seq", sequenceName = "stock_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long vaccineId;
+
+    @Column(nullable = false, updatable = false)
+    private long quantity;
+
+    @Column(nullable = false, updatable = false)
+    private Long lastEntryId;
+
+    @Column(nullable = false, updatable = false)
+    private Instant takenAt;
+
+}
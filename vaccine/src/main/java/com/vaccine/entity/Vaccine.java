@@ -1,20 +1,29 @@
 package com.vaccine.entity;
 
 import com.vaccine.enums.VaccineType;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_vaccine_name", columnNames = "name"),
+        indexes = @Index(name = "ix_vaccine_type", columnList = "type"))
 @NoArgsConstructor
-@AllArgsConstructor
 public class Vaccine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(generator = "vaccine_seq")
+    @GenericGenerator(name = "vaccine_seq", strategy = "com.vaccine.config.ConfigurableSequenceGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "vaccine_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @Column
@@ -33,4 +42,24 @@ public class Vaccine {
     @Column(nullable = false)
     private VaccineType type;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int siteQuantity;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int lotQuantity;
+
+    public Vaccine(Long id, String name, String brand, int max, int quantity, VaccineType type, Long version) {
+        this.id = id;
+        this.name = name;
+        this.brand = brand;
+        this.max = max;
+        this.quantity = quantity;
+        this.type = type;
+        this.version = version;
+    }
+
 }
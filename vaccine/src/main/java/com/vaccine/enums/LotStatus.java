@@ -0,0 +1,15 @@
+package com.vaccine.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum LotStatus {
+
+    AVAILABLE("Lot can be dispensed"),
+    DEPLETED("Every dose of the lot was dispensed"),
+    QUARANTINED("Lot expired and was pulled from stock");
+
+    private final String description;
+}
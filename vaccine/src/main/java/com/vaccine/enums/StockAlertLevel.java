@@ -0,0 +1,15 @@
+package com.vaccine.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAlertLevel {
+
+    NORMAL("Stock within thresholds"),
+    LOW_STOCK("Stock at or below reorder point"),
+    NEAR_CAPACITY("Stock near max capacity");
+
+    private final String description;
+}
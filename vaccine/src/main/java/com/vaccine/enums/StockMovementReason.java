@@ -0,0 +1,22 @@
+package com.vaccine.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockMovementReason {
+
+    CREATED("Vaccine registered with its initial stock"),
+    INCREMENT("Stock incremented"),
+    DECREMENT("Stock decremented"),
+    BATCH("Stock moved by a batch"),
+    SITE_INCREMENT("Stock received at a site"),
+    SITE_DECREMENT("Stock issued from a site"),
+    LOT_RECEIVED("Stock received in a lot"),
+    LOT_DISPENSED("Stock dispensed from lots, first expiry first"),
+    LOT_QUARANTINED("Expired lot pulled from stock"),
+    DELETED("Vaccine removed with its remaining stock");
+
+    private final String description;
+}
@@ -0,0 +1,16 @@
+package com.vaccine.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockMovementStatus {
+
+    APPLIED("Applied"),
+    NOT_FOUND("Vaccine not found"),
+    EXCEEDED("Exceeds the max stock capacity"),
+    INSUFFICIENT("Not enough stock");
+
+    private final String description;
+}
@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTransferException extends Exception {
+
+    public InvalidTransferException(String reason) {
+        super(String.format("Invalid stock transfer: %s.", reason));
+    }
+}
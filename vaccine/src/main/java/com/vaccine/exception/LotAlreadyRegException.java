@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LotAlreadyRegException extends Exception {
+
+    public LotAlreadyRegException(Long vaccineId, String lotNumber) {
+        super(String.format("Lot %s of vaccine with id %s already registered in the system.", lotNumber, vaccineId));
+    }
+}
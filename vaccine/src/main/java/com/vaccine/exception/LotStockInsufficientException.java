@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LotStockInsufficientException extends Exception {
+
+    public LotStockInsufficientException(Long vaccineId, int quantity) {
+        super(String.format("Vaccine with id %s has not enough unexpired lot stock to dispense: %s", vaccineId, quantity));
+    }
+}
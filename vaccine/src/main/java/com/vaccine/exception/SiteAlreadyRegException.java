@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SiteAlreadyRegException extends Exception {
+
+    public SiteAlreadyRegException(String siteName) {
+        super(String.format("Site with name %s already registered in the system.", siteName));
+    }
+}
@@ -0,0 +1,16 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SiteNotFoundException extends Exception {
+
+    public SiteNotFoundException(Long siteId) {
+        super(String.format("Site with id %s not found in the system.", siteId));
+    }
+
+    public SiteNotFoundException(Long vaccineId, Long siteId) {
+        super(String.format("Vaccine with id %s has no stock capacity at site %s.", vaccineId, siteId));
+    }
+}
@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SiteStockExceedException extends Exception {
+
+    public SiteStockExceedException(Long vaccineId, Long siteId, int quantity) {
+        super(String.format("Vaccine with id %s cannot hold %s more doses at site %s without exceeding its capacity there.", vaccineId, quantity, siteId));
+    }
+}
@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SiteStockInsufficientException extends Exception {
+
+    public SiteStockInsufficientException(Long vaccineId, Long siteId, int quantity) {
+        super(String.format("Vaccine with id %s has not enough stock at site %s to remove: %s", vaccineId, siteId, quantity));
+    }
+}
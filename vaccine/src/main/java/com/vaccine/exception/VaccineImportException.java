@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class VaccineImportException extends Exception {
+
+    public VaccineImportException(String reason) {
+        super(String.format("Vaccine import rejected: %s.", reason));
+    }
+}
@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class VaccineStockInsufficientException extends Exception{
+
+    public VaccineStockInsufficientException(Long id, int quantityToDecrement){
+        super(String.format("Vaccine with %s ID has not enough stock to decrement: %s", id, quantityToDecrement));
+    }
+}
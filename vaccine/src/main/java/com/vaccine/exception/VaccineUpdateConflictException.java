@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VaccineUpdateConflictException extends Exception{
+
+    public VaccineUpdateConflictException(Long id, int attempts){
+        super(String.format("Vaccine with %s ID kept changing concurrently, update gave up after %s attempts.", id, attempts));
+    }
+}
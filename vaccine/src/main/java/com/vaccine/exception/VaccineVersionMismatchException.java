@@ -0,0 +1,12 @@
+package com.vaccine.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VaccineVersionMismatchException extends Exception{
+
+    public VaccineVersionMismatchException(Long id, Long expectedVersion){
+        super(String.format("Vaccine with %s ID is no longer at version %s.", id, expectedVersion));
+    }
+}
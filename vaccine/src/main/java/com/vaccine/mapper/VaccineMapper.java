@@ -3,6 +3,7 @@ package com.vaccine.mapper;
 import com.vaccine.dto.VaccineDTO;
 import com.vaccine.entity.Vaccine;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,7 +11,12 @@ public interface VaccineMapper {
 
     VaccineMapper INSTANCE = Mappers.getMapper(VaccineMapper.class);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "siteQuantity", ignore = true)
+    @Mapping(target = "lotQuantity", ignore = true)
+    @Mapping(source = "classification", target = "type")
     Vaccine toModel(VaccineDTO vaccineDTO);
 
+    @Mapping(source = "type", target = "classification")
     VaccineDTO toDTO(Vaccine vaccine);
 }
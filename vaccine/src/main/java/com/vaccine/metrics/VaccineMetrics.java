@@ -0,0 +1,70 @@
+package com.vaccine.metrics;
+
+import com.vaccine.enums.VaccineType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class VaccineMetrics {
+
+    public static final String SERVICE_TIMER = "vaccine.service";
+    public static final String UNITS_ADDED_COUNTER = "vaccine.stock.units.added";
+    public static final String UNITS_REMOVED_COUNTER = "vaccine.stock.units.removed";
+    public static final String UNITS_TRANSFERRED_COUNTER = "vaccine.stock.units.transferred";
+    public static final String UNITS_QUARANTINED_COUNTER = "vaccine.stock.units.quarantined";
+    public static final String WRITE_BEHIND_DROPPED_COUNTER = "vaccine.stock.write-behind.dropped";
+    public static final String OPTIMISTIC_LOCK_CONFLICT_COUNTER = "vaccine.optimistic-lock.conflicts";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer serviceTimer(String operation, String outcome) {
+        return Timer.builder(SERVICE_TIMER)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordUnitsAdded(VaccineType type, int units) {
+        unitsCounter(UNITS_ADDED_COUNTER, type).increment(units);
+    }
+
+    public void recordUnitsRemoved(VaccineType type, int units) {
+        unitsCounter(UNITS_REMOVED_COUNTER, type).increment(units);
+    }
+
+    public void recordUnitsTransferred(VaccineType type, int units) {
+        unitsCounter(UNITS_TRANSFERRED_COUNTER, type).increment(units);
+    }
+
+    public void recordUnitsQuarantined(VaccineType type, int units) {
+        unitsCounter(UNITS_QUARANTINED_COUNTER, type).increment(units);
+    }
+
+    public void recordWriteBehindDropped(int units) {
+        Counter.builder(WRITE_BEHIND_DROPPED_COUNTER)
+                .baseUnit("doses")
+                .register(meterRegistry)
+                .increment(units);
+    }
+
+    public void recordOptimisticLockConflict(String operation, String outcome) {
+        Counter.builder(OPTIMISTIC_LOCK_CONFLICT_COUNTER)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter unitsCounter(String name, VaccineType type) {
+        return Counter.builder(name)
+                .tag("type", type.name())
+                .baseUnit("doses")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.vaccine.metrics;
+
+import com.vaccine.exception.VaccineAlreadyRegException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.exception.VaccineVersionMismatchException;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class VaccineServiceMetricsAspect {
+
+    private final VaccineMetrics vaccineMetrics;
+
+    @Around("execution(public * com.vaccine.service.VaccineService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            vaccineMetrics.serviceTimer(joinPoint.getSignature().getName(), outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String outcomeOf(Throwable e) {
+        if (e instanceof VaccineNotFoundExcep) {
+            return "not-found";
+        }
+        if (e instanceof VaccineStockExceedException) {
+            return "exceeded";
+        }
+        if (e instanceof VaccineStockInsufficientException) {
+            return "insufficient";
+        }
+        if (e instanceof VaccineAlreadyRegException) {
+            return "duplicate";
+        }
+        if (e instanceof VaccineVersionMismatchException) {
+            return "version-mismatch";
+        }
+        if (e instanceof VaccineUpdateConflictException) {
+            return "conflict";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,32 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.Vaccine;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveVaccineRepository extends R2dbcRepository<Vaccine, Long> {
+    Mono<Vaccine> findByName(String name);
+
+    Flux<Vaccine> findAllBy(Pageable pageable);
+
+    Flux<Vaccine> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT NEXTVAL('vaccine_seq')")
+    Mono<Long> nextId();
+
+    @Query("SELECT * FROM vaccine ORDER BY id")
+    Flux<Vaccine> streamAll();
+
+    @Modifying
+    @Query("UPDATE vaccine SET quantity = quantity + :quantity, version = version + 1 WHERE id = :id AND quantity + :quantity <= max")
+    Mono<Integer> incrementQuantity(Long id, int quantity);
+
+    @Modifying
+    @Query("UPDATE vaccine SET quantity = quantity - :quantity, version = version + 1 WHERE id = :id AND quantity - :quantity >= site_quantity + lot_quantity")
+    Mono<Integer> decrementQuantity(Long id, int quantity);
+
+}
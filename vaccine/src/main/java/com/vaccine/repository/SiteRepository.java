@@ -0,0 +1,18 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.Site;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SiteRepository extends JpaRepository<Site, Long> {
+
+    Optional<Site> findByName(String name);
+
+    List<Site> findAllByOrderByIdAsc();
+
+    List<Site> findByIdIn(Collection<Long> ids);
+
+}
@@ -0,0 +1,34 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.SiteStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SiteStockRepository extends JpaRepository<SiteStock, Long> {
+
+    Optional<SiteStock> findByVaccineIdAndSiteId(Long vaccineId, Long siteId);
+
+    List<SiteStock> findByVaccineIdOrderBySiteIdAsc(Long vaccineId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SiteStock s set s.quantity = s.quantity + :quantity where s.vaccineId = :vaccineId and s.siteId = :siteId and s.quantity + :quantity <= s.max")
+    int incrementQuantity(@Param("vaccineId") Long vaccineId, @Param("siteId") Long siteId, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SiteStock s set s.quantity = s.quantity - :quantity where s.vaccineId = :vaccineId and s.siteId = :siteId and s.quantity >= :quantity")
+    int decrementQuantity(@Param("vaccineId") Long vaccineId, @Param("siteId") Long siteId, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SiteStock s set s.max = :max where s.vaccineId = :vaccineId and s.siteId = :siteId and s.quantity <= :max")
+    int updateMax(@Param("vaccineId") Long vaccineId, @Param("siteId") Long siteId, @Param("max") int max);
+
+}
@@ -0,0 +1,33 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.StockLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    List<StockLedgerEntry> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Pageable pageable);
+
+    Optional<StockLedgerEntry> findFirstByOccurredAtBeforeOrderByIdDesc(Instant occurredAt);
+
+    @Query("select coalesce(sum(e.delta), 0) from StockLedgerEntry e where e.vaccineId = :vaccineId and e.id > :afterId")
+    long sumDeltaAfter(@Param("vaccineId") Long vaccineId, @Param("afterId") Long afterId);
+
+    @Query("select e.vaccineId as vaccineId, sum(e.delta) as delta from StockLedgerEntry e " +
+            "where e.id > :afterId and e.id <= :upToId group by e.vaccineId")
+    List<VaccineDelta> sumDeltaBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    interface VaccineDelta {
+
+        Long getVaccineId();
+
+        long getDelta();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.StockLot;
+import com.vaccine.enums.LotStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockLotRepository extends JpaRepository<StockLot, Long> {
+
+    Optional<StockLot> findByVaccineIdAndLotNumber(Long vaccineId, String lotNumber);
+
+    List<StockLot> findByVaccineIdAndStatusOrderByExpiryDateAscIdAsc(Long vaccineId, LotStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from StockLot l where l.vaccineId = :vaccineId and l.status = com.vaccine.enums.LotStatus.AVAILABLE and l.expiryDate >= :today order by l.expiryDate, l.id")
+    List<StockLot> findDispensable(@Param("vaccineId") Long vaccineId, @Param("today") LocalDate today, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from StockLot l where l.status = com.vaccine.enums.LotStatus.AVAILABLE and l.expiryDate < :today order by l.expiryDate, l.id")
+    List<StockLot> findExpired(@Param("today") LocalDate today, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from StockLot l where l.status = com.vaccine.enums.LotStatus.AVAILABLE and l.expiryDate < :today " +
+            "and (l.expiryDate > :afterDate or (l.expiryDate = :afterDate and l.id > :afterId)) order by l.expiryDate, l.id")
+    List<StockLot> findExpiredAfter(@Param("today") LocalDate today, @Param("afterDate") LocalDate afterDate,
+                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update StockLot l set l.status = :status where l.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") LotStatus status);
+
+}
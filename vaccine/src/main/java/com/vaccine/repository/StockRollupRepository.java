@@ -0,0 +1,35 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.StockRollup;
+import com.vaccine.enums.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockRollupRepository extends JpaRepository<StockRollup, Long> {
+
+    Optional<StockRollup> findFirstByVaccineIdAndResolutionAndBucketStartLessThanOrderByBucketStartDesc(
+            Long vaccineId, RollupResolution resolution, Instant before);
+
+    List<StockRollup> findByVaccineIdAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            Long vaccineId, RollupResolution resolution, Instant from, Instant to);
+
+    @Query("select r from StockRollup r where r.resolution = :resolution and r.vaccineId in :vaccineIds and r.bucketStart = " +
+            "(select max(t.bucketStart) from StockRollup t where t.resolution = r.resolution and t.vaccineId = r.vaccineId)")
+    List<StockRollup> findLatestByResolutionAndVaccineIdIn(@Param("resolution") RollupResolution resolution,
+                                                           @Param("vaccineIds") Collection<Long> vaccineIds);
+
+    @Query("select coalesce(max(r.lastEntryId), 0) from StockRollup r")
+    long findRolledUpTo();
+
+    @Modifying
+    @Query("delete from StockRollup r where r.resolution = :resolution and r.bucketStart < :before")
+    int deleteByResolutionAndBucketStartBefore(@Param("resolution") RollupResolution resolution, @Param("before") Instant before);
+
+}
@@ -0,0 +1,23 @@
+package com.vaccine.repository;
+
+import com.vaccine.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByVaccineIdOrderByLastEntryIdDesc(Long vaccineId);
+
+    @Query("select s from StockSnapshot s where s.vaccineId in :vaccineIds and s.lastEntryId = " +
+            "(select max(t.lastEntryId) from StockSnapshot t where t.vaccineId = s.vaccineId)")
+    List<StockSnapshot> findLatestByVaccineIdIn(@Param("vaccineIds") Collection<Long> vaccineIds);
+
+    @Query("select coalesce(max(s.lastEntryId), 0) from StockSnapshot s")
+    long findCompactedUpTo();
+
+}
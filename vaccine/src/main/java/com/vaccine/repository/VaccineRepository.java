@@ -1,11 +1,106 @@
 package com.vaccine.repository;
 
 import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface VaccineRepository extends JpaRepository<Vaccine, Long> {
     Optional<Vaccine> findByName(String name);
 
+    Slice<Vaccine> findAllBy(Pageable pageable);
+
+    List<Vaccine> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select v from Vaccine v order by v.id")
+    Stream<Vaccine> streamAll();
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity + :quantity, v.version = v.version + 1 where v.id = :id and v.quantity + :quantity <= v.max")
+    int incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity + :quantity, v.version = v.version + 1 where v.id = :id and v.version = :version and v.quantity + :quantity <= v.max")
+    int incrementQuantityAtVersion(@Param("id") Long id, @Param("quantity") int quantity, @Param("version") Long version);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity - :quantity, v.version = v.version + 1 where v.id = :id and v.quantity - :quantity >= v.siteQuantity + v.lotQuantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity - :quantity, v.version = v.version + 1 where v.id = :id and v.version = :version and v.quantity - :quantity >= v.siteQuantity + v.lotQuantity")
+    int decrementQuantityAtVersion(@Param("id") Long id, @Param("quantity") int quantity, @Param("version") Long version);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity + :quantity, v.siteQuantity = v.siteQuantity + :quantity, v.version = v.version + 1 where v.id = :id and v.quantity + :quantity <= v.max")
+    int incrementSiteQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity - :quantity, v.siteQuantity = v.siteQuantity - :quantity, v.version = v.version + 1 where v.id = :id and v.siteQuantity >= :quantity")
+    int decrementSiteQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity + :quantity, v.lotQuantity = v.lotQuantity + :quantity, v.version = v.version + 1 where v.id = :id and v.quantity + :quantity <= v.max")
+    int incrementLotQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.quantity = v.quantity - :quantity, v.lotQuantity = v.lotQuantity - :quantity, v.version = v.version + 1 where v.id = :id and v.lotQuantity >= :quantity")
+    int decrementLotQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Vaccine v set v.brand = :brand, v.max = :max, v.type = :type, v.version = v.version + 1 where v.id = :id and v.version = :version and v.quantity <= :max")
+    int updateAtVersion(@Param("id") Long id, @Param("version") Long version, @Param("brand") String brand, @Param("max") int max, @Param("type") VaccineType type);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Vaccine v where v.id = :id and v.version = :version")
+    int deleteByIdAtVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("select v.name from Vaccine v where v.name in :names")
+    List<String> findNamesIn(@Param("names") Collection<String> names);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Vaccine> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select v.type as type, count(v) as vaccines, sum(v.quantity) as quantity, sum(v.max) as capacity from Vaccine v group by v.type")
+    List<TypeTotals> summarizeByType();
+
+    interface TypeTotals {
+
+        VaccineType getType();
+
+        long getVaccines();
+
+        long getQuantity();
+
+        long getCapacity();
+    }
+
 }
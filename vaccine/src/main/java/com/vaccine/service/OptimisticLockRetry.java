@@ -0,0 +1,46 @@
+package com.vaccine.service;
+
+import com.vaccine.metrics.VaccineMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class OptimisticLockRetry {
+
+    private final VaccineMetrics vaccineMetrics;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticLockRetry(VaccineMetrics vaccineMetrics,
+                               @Value("${vaccine.optimistic-lock.max-attempts:5}") int maxAttempts,
+                               @Value("${vaccine.optimistic-lock.backoff-ms:10}") long backoffMs,
+                               @Value("${vaccine.optimistic-lock.max-backoff-ms:200}") long maxBackoffMs) {
+        this.vaccineMetrics = vaccineMetrics;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean backOff(String operation, int attempt) {
+        if (attempt >= maxAttempts) {
+            vaccineMetrics.recordOptimisticLockConflict(operation, "exhausted");
+            return false;
+        }
+        vaccineMetrics.recordOptimisticLockConflict(operation, "retried");
+        long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
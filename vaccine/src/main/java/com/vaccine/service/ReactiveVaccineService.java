@@ -0,0 +1,91 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.exception.VaccineAlreadyRegException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.mapper.VaccineMapper;
+import com.vaccine.repository.ReactiveVaccineRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveVaccineService {
+
+    private final ReactiveVaccineRepository reactiveVaccineRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
+
+    public Mono<VaccineDTO> createVaccine(VaccineDTO vaccineDTO) {
+        return reactiveVaccineRepository.findByName(vaccineDTO.getName())
+                .flatMap(vaccine -> Mono.<Vaccine>error(new VaccineAlreadyRegException(vaccineDTO.getName())))
+                .switchIfEmpty(Mono.defer(() -> reactiveVaccineRepository.nextId()
+                        .flatMap(id -> r2dbcEntityTemplate.insert(newVaccine(id, vaccineDTO)))))
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Mono<VaccineDTO> findByName(String name) {
+        return reactiveVaccineRepository.findByName(name)
+                .switchIfEmpty(Mono.error(() -> new VaccineNotFoundExcep(name)))
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Flux<VaccineDTO> listAll(Pageable pageable) {
+        return reactiveVaccineRepository.findAllBy(pageable)
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Flux<VaccineDTO> listAfter(Long cursor, int size) {
+        return reactiveVaccineRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, size))
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Flux<VaccineDTO> exportAll() {
+        return reactiveVaccineRepository.streamAll()
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return verifyIfExists(id)
+                .flatMap(vaccine -> reactiveVaccineRepository.deleteById(id));
+    }
+
+    public Mono<VaccineDTO> increment(Long id, int quantityToIncrement) {
+        return reactiveVaccineRepository.incrementQuantity(id, quantityToIncrement)
+                .flatMap(updated -> updated == 0
+                        ? verifyIfExists(id).then(Mono.<Vaccine>error(new VaccineStockExceedException(id, quantityToIncrement)))
+                        : verifyIfExists(id))
+                .map(vaccineMapper::toDTO);
+    }
+
+    public Mono<VaccineDTO> decrement(Long id, int quantityToDecrement) {
+        return reactiveVaccineRepository.decrementQuantity(id, quantityToDecrement)
+                .flatMap(updated -> updated == 0
+                        ? verifyIfExists(id).then(Mono.<Vaccine>error(new VaccineStockInsufficientException(id, quantityToDecrement)))
+                        : verifyIfExists(id))
+                .map(vaccineMapper::toDTO);
+    }
+
+    private Vaccine newVaccine(Long id, VaccineDTO vaccineDTO) {
+        Vaccine vaccine = vaccineMapper.toModel(vaccineDTO);
+        vaccine.setId(id);
+        vaccine.setVersion(0L);
+        return vaccine;
+    }
+
+    private Mono<Vaccine> verifyIfExists(Long id) {
+        return reactiveVaccineRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new VaccineNotFoundExcep(id)));
+    }
+}
@@ -0,0 +1,228 @@
+package com.vaccine.service;
+
+import com.vaccine.alert.StockAlertEngine;
+import com.vaccine.config.CacheConfig;
+import com.vaccine.dto.SiteDTO;
+import com.vaccine.dto.SiteStockDTO;
+import com.vaccine.dto.VaccineSiteStockDTO;
+import com.vaccine.entity.Site;
+import com.vaccine.entity.SiteStock;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.exception.InvalidTransferException;
+import com.vaccine.exception.SiteAlreadyRegException;
+import com.vaccine.exception.SiteNotFoundException;
+import com.vaccine.exception.SiteStockExceedException;
+import com.vaccine.exception.SiteStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.metrics.VaccineMetrics;
+import com.vaccine.repository.SiteRepository;
+import com.vaccine.repository.SiteStockRepository;
+import com.vaccine.repository.VaccineRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class SiteStockService {
+
+    private final SiteRepository siteRepository;
+    private final SiteStockRepository siteStockRepository;
+    private final VaccineRepository vaccineRepository;
+    private final VaccineMetrics vaccineMetrics;
+    private final StockSummary stockSummary;
+    private final StockAlertEngine stockAlertEngine;
+    private final StockLedger stockLedger;
+    private final StockIncrementBuffer stockIncrementBuffer;
+    private final VaccineCatalogue vaccineCatalogue;
+    private final CacheManager cacheManager;
+
+    public SiteDTO createSite(SiteDTO siteDTO) throws SiteAlreadyRegException {
+        if (siteRepository.findByName(siteDTO.getName()).isPresent()) {
+            throw new SiteAlreadyRegException(siteDTO.getName());
+        }
+        Site site = siteRepository.save(new Site(null, siteDTO.getName()));
+        return toDTO(site);
+    }
+
+    public List<SiteDTO> listSites() {
+        return siteRepository.findAllByOrderByIdAsc().stream()
+                .map(SiteStockService::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public SiteStockDTO setCapacity(Long vaccineId, Long siteId, int max) throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockExceedException {
+        lockVaccine(vaccineId);
+        Site site = verifySiteExists(siteId);
+        if (siteStockRepository.findByVaccineIdAndSiteId(vaccineId, siteId).isEmpty()) {
+            return toDTO(siteStockRepository.save(new SiteStock(null, vaccineId, siteId, max, 0)), site);
+        }
+        if (siteStockRepository.updateMax(vaccineId, siteId, max) == 0) {
+            SiteStock siteStock = verifyStockExists(vaccineId, siteId);
+            throw new SiteStockExceedException(vaccineId, siteId, siteStock.getQuantity() - max);
+        }
+        return toDTO(verifyStockExists(vaccineId, siteId), site);
+    }
+
+    @Transactional(readOnly = true)
+    public VaccineSiteStockDTO listStock(Long vaccineId) throws VaccineNotFoundExcep {
+        Vaccine vaccine = verifyIfExists(vaccineId);
+        List<SiteStock> siteStocks = siteStockRepository.findByVaccineIdOrderBySiteIdAsc(vaccineId);
+        Map<Long, Site> sitesById = siteRepository.findByIdIn(siteStocks.stream()
+                        .map(SiteStock::getSiteId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Site::getId, Function.identity()));
+        return VaccineSiteStockDTO.builder()
+                .vaccineId(vaccineId)
+                .quantity(vaccine.getQuantity())
+                .siteQuantity(vaccine.getSiteQuantity())
+                .unassignedQuantity(vaccine.getQuantity() - vaccine.getSiteQuantity() - vaccine.getLotQuantity())
+                .sites(siteStocks.stream()
+                        .map(siteStock -> toDTO(siteStock, sitesById.get(siteStock.getSiteId())))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public SiteStockDTO increment(Long vaccineId, Long siteId, int quantity) throws VaccineNotFoundExcep, VaccineStockExceedException, SiteNotFoundException, SiteStockExceedException {
+        if (vaccineRepository.incrementSiteQuantity(vaccineId, quantity) == 0) {
+            verifyIfExists(vaccineId);
+            throw new VaccineStockExceedException(vaccineId, quantity);
+        }
+        putInto(vaccineId, siteId, quantity);
+        return stockChanged(vaccineId, siteId, quantity, StockMovementReason.SITE_INCREMENT);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public SiteStockDTO decrement(Long vaccineId, Long siteId, int quantity) throws VaccineNotFoundExcep, SiteNotFoundException, SiteStockInsufficientException {
+        if (vaccineRepository.decrementSiteQuantity(vaccineId, quantity) == 0) {
+            verifyIfExists(vaccineId);
+            verifyStockExists(vaccineId, siteId);
+            throw new SiteStockInsufficientException(vaccineId, siteId, quantity);
+        }
+        takeFrom(vaccineId, siteId, quantity);
+        return stockChanged(vaccineId, siteId, -quantity, StockMovementReason.SITE_DECREMENT);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public List<SiteStockDTO> transfer(Long vaccineId, Long fromSiteId, Long toSiteId, int quantity) throws VaccineNotFoundExcep, InvalidTransferException, SiteNotFoundException, SiteStockInsufficientException, SiteStockExceedException {
+        if (fromSiteId.equals(toSiteId)) {
+            throw new InvalidTransferException("source and destination site are the same");
+        }
+        // Serialise transfers on the vaccine row: locking only the two site_stock rows, even in siteId order,
+        // still lost and created doses under concurrent transfers on H2 1.4.200.
+        Vaccine vaccine = lockVaccine(vaccineId);
+        takeFrom(vaccineId, fromSiteId, quantity);
+        putInto(vaccineId, toSiteId, quantity);
+        vaccineMetrics.recordUnitsTransferred(vaccine.getType(), quantity);
+        Map<Long, Site> sitesById = siteRepository.findByIdIn(Arrays.asList(fromSiteId, toSiteId)).stream()
+                .collect(Collectors.toMap(Site::getId, Function.identity()));
+        return Arrays.asList(
+                toDTO(verifyStockExists(vaccineId, fromSiteId), sitesById.get(fromSiteId)),
+                toDTO(verifyStockExists(vaccineId, toSiteId), sitesById.get(toSiteId)));
+    }
+
+    private void putInto(Long vaccineId, Long siteId, int quantity) throws SiteNotFoundException, SiteStockExceedException {
+        if (siteStockRepository.incrementQuantity(vaccineId, siteId, quantity) == 0) {
+            verifyStockExists(vaccineId, siteId);
+            throw new SiteStockExceedException(vaccineId, siteId, quantity);
+        }
+    }
+
+    private void takeFrom(Long vaccineId, Long siteId, int quantity) throws SiteNotFoundException, SiteStockInsufficientException {
+        if (siteStockRepository.decrementQuantity(vaccineId, siteId, quantity) == 0) {
+            verifyStockExists(vaccineId, siteId);
+            throw new SiteStockInsufficientException(vaccineId, siteId, quantity);
+        }
+    }
+
+    private SiteStockDTO stockChanged(Long vaccineId, Long siteId, int delta, StockMovementReason reason) throws VaccineNotFoundExcep, SiteNotFoundException {
+        vaccineCatalogue.invalidate();
+        Vaccine vaccine = verifyIfExists(vaccineId);
+        stockLedger.append(vaccineId, delta, reason);
+        afterCommit(() -> {
+            evictByName(vaccine);
+            if (delta > 0) {
+                vaccineMetrics.recordUnitsAdded(vaccine.getType(), delta);
+            } else {
+                vaccineMetrics.recordUnitsRemoved(vaccine.getType(), -delta);
+            }
+            stockSummary.recordQuantityChanged(vaccine.getType(), delta);
+            stockAlertEngine.evaluate(vaccine);
+            stockIncrementBuffer.invalidate(vaccineId);
+        });
+        return toDTO(verifyStockExists(vaccineId, siteId), verifySiteExists(siteId));
+    }
+
+    private void evictByName(Vaccine vaccine) {
+        Cache cache = cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE);
+        if (cache != null) {
+            cache.evict(vaccine.getName());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Vaccine lockVaccine(Long vaccineId) throws VaccineNotFoundExcep {
+        return vaccineRepository.findByIdInOrderByIdAsc(Collections.singletonList(vaccineId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new VaccineNotFoundExcep(vaccineId));
+    }
+
+    private Vaccine verifyIfExists(Long vaccineId) throws VaccineNotFoundExcep {
+        return vaccineRepository.findById(vaccineId)
+                .orElseThrow(() -> new VaccineNotFoundExcep(vaccineId));
+    }
+
+    private Site verifySiteExists(Long siteId) throws SiteNotFoundException {
+        return siteRepository.findById(siteId)
+                .orElseThrow(() -> new SiteNotFoundException(siteId));
+    }
+
+    private SiteStock verifyStockExists(Long vaccineId, Long siteId) throws SiteNotFoundException {
+        return siteStockRepository.findByVaccineIdAndSiteId(vaccineId, siteId)
+                .orElseThrow(() -> new SiteNotFoundException(vaccineId, siteId));
+    }
+
+    private static SiteDTO toDTO(Site site) {
+        return SiteDTO.builder()
+                .id(site.getId())
+                .name(site.getName())
+                .build();
+    }
+
+    private static SiteStockDTO toDTO(SiteStock siteStock, Site site) {
+        return SiteStockDTO.builder()
+                .siteId(siteStock.getSiteId())
+                .siteName(site == null ? null : site.getName())
+                .max(siteStock.getMax())
+                .quantity(siteStock.getQuantity())
+                .build();
+    }
+}
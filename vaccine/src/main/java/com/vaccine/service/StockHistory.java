@@ -0,0 +1,191 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockHistoryPointDTO;
+import com.vaccine.entity.StockLedgerEntry;
+import com.vaccine.entity.StockRollup;
+import com.vaccine.enums.RollupResolution;
+import com.vaccine.exception.InvalidHistoryRangeException;
+import com.vaccine.repository.StockLedgerRepository;
+import com.vaccine.repository.StockRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class StockHistory {
+
+    private final StockLedger stockLedger;
+    private final StockLedgerRepository stockLedgerRepository;
+    private final StockRollupRepository stockRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxPoints;
+    private final Duration minuteRetention;
+
+    public StockHistory(StockLedger stockLedger,
+                        StockLedgerRepository stockLedgerRepository,
+                        StockRollupRepository stockRollupRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${vaccine.history.rollup-batch-size:5000}") int batchSize,
+                        @Value("${vaccine.history.max-points:10000}") int maxPoints,
+                        @Value("${vaccine.history.minute-retention:7d}") Duration minuteRetention) {
+        this.stockLedger = stockLedger;
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.stockRollupRepository = stockRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxPoints = maxPoints;
+        this.minuteRetention = minuteRetention;
+    }
+
+    public StockHistoryDTO history(Long vaccineId, Instant from, Instant to, Duration step) throws InvalidHistoryRangeException {
+        if (!from.isBefore(to)) {
+            throw new InvalidHistoryRangeException("from must be before to");
+        }
+        RollupResolution resolution = resolutionFor(from, step);
+        Duration resolutionDuration = resolution.getDuration();
+        Duration alignedStep = resolutionDuration.multipliedBy(Math.max(1, step.dividedBy(resolutionDuration)));
+        Instant alignedFrom = resolution.truncate(from);
+        long points = (Duration.between(alignedFrom, to).toMillis() + alignedStep.toMillis() - 1) / alignedStep.toMillis();
+        if (points > maxPoints) {
+            throw new InvalidHistoryRangeException(String.format("%d points requested, at most %d are served, use a larger step", points, maxPoints));
+        }
+
+        long quantity = openingQuantity(vaccineId, resolution, alignedFrom);
+        List<StockRollup> rollups = stockRollupRepository
+                .findByVaccineIdAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(vaccineId, resolution, alignedFrom, to);
+        List<StockHistoryPointDTO> historyPoints = new ArrayList<>((int) points);
+        int next = 0;
+        for (Instant bucketStart = alignedFrom; bucketStart.isBefore(to); bucketStart = bucketStart.plus(alignedStep)) {
+            Instant bucketEnd = bucketStart.plus(alignedStep);
+            long min = quantity;
+            long max = quantity;
+            for (; next < rollups.size() && rollups.get(next).getBucketStart().isBefore(bucketEnd); next++) {
+                StockRollup rollup = rollups.get(next);
+                min = Math.min(min, rollup.getMinQuantity());
+                max = Math.max(max, rollup.getMaxQuantity());
+                quantity = rollup.getClosingQuantity();
+            }
+            historyPoints.add(StockHistoryPointDTO.builder()
+                    .timestamp(bucketStart)
+                    .quantity(quantity)
+                    .min(min)
+                    .max(max)
+                    .build());
+        }
+        return StockHistoryDTO.builder()
+                .id(vaccineId)
+                .from(alignedFrom)
+                .to(to)
+                .step(alignedStep)
+                .resolution(resolution)
+                .points(historyPoints)
+                .build();
+    }
+
+    private long openingQuantity(Long vaccineId, RollupResolution resolution, Instant alignedFrom) {
+        for (RollupResolution coarser : RollupResolution.values()) {
+            if (coarser.compareTo(resolution) < 0) {
+                continue;
+            }
+            Optional<StockRollup> closed = stockRollupRepository
+                    .findFirstByVaccineIdAndResolutionAndBucketStartLessThanOrderByBucketStartDesc(vaccineId, coarser, coarser.truncate(alignedFrom));
+            if (closed.isPresent()) {
+                return closed.get().getClosingQuantity();
+            }
+        }
+        return 0L;
+    }
+
+    private RollupResolution resolutionFor(Instant from, Duration step) throws InvalidHistoryRangeException {
+        if (step.compareTo(RollupResolution.MINUTE.getDuration()) < 0) {
+            throw new InvalidHistoryRangeException("step must be at least one minute");
+        }
+        boolean minutesRetained = !from.isBefore(Instant.now().minus(minuteRetention));
+        RollupResolution chosen = minutesRetained ? RollupResolution.MINUTE : RollupResolution.HOUR;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            if (resolution.compareTo(chosen) > 0 && step.compareTo(resolution.getDuration()) >= 0) {
+                chosen = resolution;
+            }
+        }
+        return chosen;
+    }
+
+    @Scheduled(fixedDelayString = "${vaccine.history.rollup-interval-ms:10000}")
+    public synchronized void rollUp() {
+        long upToId = stockLedger.settledUpTo();
+        int entries;
+        do {
+            entries = transactionTemplate.execute(status -> rollUpBatch(upToId));
+        } while (entries == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${vaccine.history.prune-interval-ms:3600000}",
+            initialDelayString = "${vaccine.history.prune-interval-ms:3600000}")
+    public synchronized void pruneMinutes() {
+        Integer pruned = transactionTemplate.execute(status -> stockRollupRepository
+                .deleteByResolutionAndBucketStartBefore(RollupResolution.MINUTE, Instant.now().minus(minuteRetention)));
+        log.debug("Pruned {} minute rollups older than {}", pruned, minuteRetention);
+    }
+
+    private int rollUpBatch(long upToId) {
+        long rolledUpTo = stockRollupRepository.findRolledUpTo();
+        List<StockLedgerEntry> entries = stockLedgerRepository
+                .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(rolledUpTo, upToId, PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<StockLedgerEntry>> entriesByVaccine = new LinkedHashMap<>();
+        entries.forEach(entry -> entriesByVaccine.computeIfAbsent(entry.getVaccineId(), id -> new ArrayList<>()).add(entry));
+        Long lastEntryId = entries.get(entries.size() - 1).getId();
+
+        Map<RollupResolution, Map<Long, StockRollup>> latest = new EnumMap<>(RollupResolution.class);
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Map<Long, StockRollup> latestByVaccine = new HashMap<>();
+            stockRollupRepository.findLatestByResolutionAndVaccineIdIn(resolution, entriesByVaccine.keySet())
+                    .forEach(rollup -> latestByVaccine.put(rollup.getVaccineId(), rollup));
+            latest.put(resolution, latestByVaccine);
+        }
+
+        List<StockRollup> created = new ArrayList<>();
+        entriesByVaccine.forEach((vaccineId, vaccineEntries) -> {
+            StockRollup day = latest.get(RollupResolution.DAY).get(vaccineId);
+            long opening = day == null ? 0 : day.getClosingQuantity();
+            for (RollupResolution resolution : RollupResolution.values()) {
+                StockRollup current = latest.get(resolution).get(vaccineId);
+                long quantity = opening;
+                for (StockLedgerEntry entry : vaccineEntries) {
+                    Instant bucketStart = resolution.truncate(entry.getOccurredAt());
+                    if (current == null || bucketStart.isAfter(current.getBucketStart())) {
+                        current = new StockRollup(null, vaccineId, resolution, bucketStart, quantity, quantity, quantity, lastEntryId);
+                        created.add(current);
+                    }
+                    quantity += entry.getDelta();
+                    current.setMinQuantity(Math.min(current.getMinQuantity(), quantity));
+                    current.setMaxQuantity(Math.max(current.getMaxQuantity(), quantity));
+                    current.setClosingQuantity(quantity);
+                    current.setLastEntryId(lastEntryId);
+                }
+            }
+        });
+        stockRollupRepository.saveAll(created);
+        log.debug("Rolled up {} ledger movements of {} vaccines", entries.size(), entriesByVaccine.size());
+        return entries.size();
+    }
+}
@@ -0,0 +1,252 @@
+package com.vaccine.service;
+
+import com.vaccine.alert.StockAlertEngine;
+import com.vaccine.config.CacheConfig;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.mapper.VaccineMapper;
+import com.vaccine.metrics.VaccineMetrics;
+import com.vaccine.repository.VaccineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class StockIncrementBuffer {
+
+    private final VaccineRepository vaccineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VaccineMetrics vaccineMetrics;
+    private final StockSummary stockSummary;
+    private final StockAlertEngine stockAlertEngine;
+    private final StockLedger stockLedger;
+    private final VaccineCatalogue vaccineCatalogue;
+    private final CacheManager cacheManager;
+    private final VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
+    private final boolean enabled;
+    private final int flushThreshold;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedIncrements = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockIncrementBuffer(VaccineRepository vaccineRepository,
+                                PlatformTransactionManager transactionManager,
+                                VaccineMetrics vaccineMetrics,
+                                StockSummary stockSummary,
+                                StockAlertEngine stockAlertEngine,
+                                StockLedger stockLedger,
+                                VaccineCatalogue vaccineCatalogue,
+                                CacheManager cacheManager,
+                                @Value("${vaccine.stock.write-behind.enabled:false}") boolean enabled,
+                                @Value("${vaccine.stock.write-behind.flush-threshold:1000}") int flushThreshold) {
+        this.vaccineRepository = vaccineRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.vaccineMetrics = vaccineMetrics;
+        this.stockSummary = stockSummary;
+        this.stockAlertEngine = stockAlertEngine;
+        this.stockLedger = stockLedger;
+        this.vaccineCatalogue = vaccineCatalogue;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public VaccineDTO increment(Long id, int quantityToIncrement) throws VaccineNotFoundExcep, VaccineStockExceedException {
+        if (quantityToIncrement <= 0) {
+            throw new IllegalArgumentException(String.format("Buffered increment for vaccine %s must be positive: %s", id, quantityToIncrement));
+        }
+        Slot current = slots.get(id);
+        int generation = current == null ? 0 : current.generation;
+        Vaccine stored = current == null || current.isStale() ? vaccineRepository.findById(id)
+                .orElseThrow(() -> new VaccineNotFoundExcep(id)) : null;
+        Vaccine[] reserved = new Vaccine[1];
+        slots.compute(id, (key, slot) -> {
+            Slot admitting = slot == null ? new Slot(stored) : slot;
+            if (stored != null) {
+                admitting.load(stored, generation);
+            }
+            if (admitting.projectedQuantity() + quantityToIncrement <= admitting.vaccine.getMax()) {
+                admitting.pending += quantityToIncrement;
+                reserved[0] = admitting.projectedVaccine();
+            }
+            return admitting;
+        });
+        if (reserved[0] == null) {
+            throw new VaccineStockExceedException(id, quantityToIncrement);
+        }
+        Vaccine projected = reserved[0];
+
+        if (bufferedIncrements.incrementAndGet() >= flushThreshold && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return vaccineMapper.toDTO(projected);
+    }
+
+    public void invalidate(Long id) {
+        slots.computeIfPresent(id, (key, slot) -> {
+            slot.generation++;
+            return slot;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${vaccine.stock.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        bufferedIncrements.set(0);
+        List<Long> ids = new ArrayList<>(slots.keySet());
+        ids.sort(null);
+        List<Long> drainedIds = new ArrayList<>();
+        for (Long id : ids) {
+            slots.computeIfPresent(id, (key, slot) -> {
+                if (slot.pending > 0) {
+                    slot.inFlight = slot.pending;
+                    slot.pending = 0;
+                    drainedIds.add(id);
+                }
+                return slot;
+            });
+        }
+        if (drainedIds.isEmpty()) {
+            return;
+        }
+        Set<Long> appliedIds = new HashSet<>();
+        Map<Long, Vaccine> written = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> drainedIds.forEach(id -> {
+                if (writeInFlight(id)) {
+                    appliedIds.add(id);
+                    stockLedger.append(id, slots.get(id).inFlight, StockMovementReason.INCREMENT);
+                }
+                vaccineRepository.findById(id).ifPresent(vaccine -> written.put(id, vaccine));
+            }));
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush of {} vaccines failed, increments stay buffered", drainedIds.size(), e);
+            drainedIds.forEach(id -> slots.computeIfPresent(id, (key, slot) -> {
+                slot.pending += slot.inFlight;
+                slot.inFlight = 0;
+                return slot;
+            }));
+            return;
+        }
+        if (!appliedIds.isEmpty()) {
+            vaccineCatalogue.invalidate();
+        }
+        for (Long id : drainedIds) {
+            boolean applied = appliedIds.contains(id);
+            Vaccine vaccine = written.get(id);
+            slots.computeIfPresent(id, (key, slot) -> {
+                if (vaccine != null) {
+                    slot.refresh(vaccine);
+                }
+                if (applied) {
+                    vaccineMetrics.recordUnitsAdded(slot.vaccine.getType(), slot.inFlight);
+                    stockSummary.recordQuantityChanged(slot.vaccine.getType(), slot.inFlight);
+                    stockAlertEngine.evaluate(slot.vaccine);
+                } else {
+                    vaccineMetrics.recordWriteBehindDropped(slot.inFlight);
+                }
+                slot.inFlight = 0;
+                return vaccine == null && slot.pending == 0 ? null : slot;
+            });
+            if (vaccine != null) {
+                evictByName(vaccine);
+            }
+        }
+    }
+
+    private boolean writeInFlight(Long id) {
+        int units = slots.get(id).inFlight;
+        if (vaccineRepository.incrementQuantity(id, units) == 0) {
+            log.error("Write-behind flush dropped {} units for vaccine {}: stock changed or vaccine removed", units, id);
+            return false;
+        }
+        return true;
+    }
+
+    private void evictByName(Vaccine vaccine) {
+        Cache cache = cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE);
+        if (cache != null) {
+            cache.evict(vaccine.getName());
+        }
+    }
+
+    private static class Slot {
+
+        private Vaccine vaccine;
+        private int pending;
+        private int inFlight;
+        private int generation;
+        private int loadedGeneration;
+
+        private Slot(Vaccine vaccine) {
+            this.vaccine = vaccine;
+        }
+
+        private boolean isStale() {
+            return loadedGeneration != generation;
+        }
+
+        private void load(Vaccine stored, int readAtGeneration) {
+            refresh(stored);
+            loadedGeneration = readAtGeneration;
+        }
+
+        private void refresh(Vaccine stored) {
+            if (stored.getVersion() >= vaccine.getVersion()) {
+                vaccine = stored;
+            }
+        }
+
+        private int projectedQuantity() {
+            return vaccine.getQuantity() + inFlight + pending;
+        }
+
+        private Vaccine projectedVaccine() {
+            return new Vaccine(vaccine.getId(), vaccine.getName(), vaccine.getBrand(), vaccine.getMax(), projectedQuantity(), vaccine.getType(), vaccine.getVersion());
+        }
+    }
+}
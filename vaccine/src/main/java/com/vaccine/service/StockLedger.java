@@ -0,0 +1,125 @@
+package com.vaccine.service;
+
+import com.vaccine.entity.StockLedgerEntry;
+import com.vaccine.entity.StockSnapshot;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.repository.StockLedgerRepository;
+import com.vaccine.repository.StockSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class StockLedger {
+
+    private static final int SNAPSHOT_ID_CHUNK_SIZE = 1000;
+
+    private final StockLedgerRepository stockLedgerRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleWindow;
+
+    public StockLedger(StockLedgerRepository stockLedgerRepository,
+                       StockSnapshotRepository stockSnapshotRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${vaccine.ledger.settle-window:10s}") Duration settleWindow) {
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.stockSnapshotRepository = stockSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settleWindow = settleWindow;
+    }
+
+    public void append(Long vaccineId, int delta, StockMovementReason reason) {
+        StockLedgerEntry entry = new StockLedgerEntry(null, vaccineId, delta, reason, Instant.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLedgerRepository.save(entry);
+            return;
+        }
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingEntries.class::isInstance)
+                .map(PendingEntries.class::cast)
+                .findFirst()
+                .orElseGet(this::registerPendingEntries)
+                .entries.add(entry);
+    }
+
+    public long quantityOf(Long vaccineId) {
+        return transactionTemplate.execute(status -> {
+            StockSnapshot snapshot = stockSnapshotRepository.findFirstByVaccineIdOrderByLastEntryIdDesc(vaccineId)
+                    .orElse(null);
+            long afterId = snapshot == null ? 0 : snapshot.getLastEntryId();
+            long snapshotQuantity = snapshot == null ? 0 : snapshot.getQuantity();
+            return snapshotQuantity + stockLedgerRepository.sumDeltaAfter(vaccineId, afterId);
+        });
+    }
+
+    public long settledUpTo() {
+        return stockLedgerRepository.findFirstByOccurredAtBeforeOrderByIdDesc(Instant.now().minus(settleWindow))
+                .map(StockLedgerEntry::getId)
+                .orElse(0L);
+    }
+
+    @Scheduled(fixedDelayString = "${vaccine.ledger.compaction-interval-ms:60000}",
+            initialDelayString = "${vaccine.ledger.compaction-interval-ms:60000}")
+    public synchronized void compact() {
+        long upToId = settledUpTo();
+        Integer snapshots = transactionTemplate.execute(status -> compactUpTo(upToId));
+        log.debug("Stock ledger compaction wrote {} snapshots", snapshots);
+    }
+
+    private int compactUpTo(long upToId) {
+        long compactedUpTo = stockSnapshotRepository.findCompactedUpTo();
+        if (upToId <= compactedUpTo) {
+            return 0;
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        stockLedgerRepository.sumDeltaBetween(compactedUpTo, upToId)
+                .forEach(vaccineDelta -> deltas.put(vaccineDelta.getVaccineId(), vaccineDelta.getDelta()));
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        Map<Long, Long> previousQuantities = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += SNAPSHOT_ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SNAPSHOT_ID_CHUNK_SIZE, ids.size()));
+            stockSnapshotRepository.findLatestByVaccineIdIn(chunk)
+                    .forEach(snapshot -> previousQuantities.put(snapshot.getVaccineId(), snapshot.getQuantity()));
+        }
+        Instant takenAt = Instant.now();
+        List<StockSnapshot> snapshots = new ArrayList<>();
+        deltas.forEach((vaccineId, delta) -> snapshots.add(new StockSnapshot(null, vaccineId,
+                previousQuantities.getOrDefault(vaccineId, 0L) + delta, upToId, takenAt)));
+        stockSnapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    private PendingEntries registerPendingEntries() {
+        PendingEntries pendingEntries = new PendingEntries();
+        TransactionSynchronizationManager.registerSynchronization(pendingEntries);
+        return pendingEntries;
+    }
+
+    private class PendingEntries implements TransactionSynchronization {
+
+        private final List<StockLedgerEntry> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Instant occurredAt = Instant.now();
+            entries.forEach(entry -> entry.setOccurredAt(occurredAt));
+            stockLedgerRepository.saveAll(entries);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.vaccine.service;
+
+import com.vaccine.alert.StockAlertEngine;
+import com.vaccine.config.CacheConfig;
+import com.vaccine.dto.LotAllocationDTO;
+import com.vaccine.dto.StockLotDTO;
+import com.vaccine.entity.StockLot;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.LotStatus;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.exception.LotAlreadyRegException;
+import com.vaccine.exception.LotStockInsufficientException;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.metrics.VaccineMetrics;
+import com.vaccine.repository.StockLotRepository;
+import com.vaccine.repository.VaccineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StockLotService {
+
+    private final StockLotRepository stockLotRepository;
+    private final VaccineRepository vaccineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VaccineMetrics vaccineMetrics;
+    private final StockSummary stockSummary;
+    private final StockAlertEngine stockAlertEngine;
+    private final StockLedger stockLedger;
+    private final StockIncrementBuffer stockIncrementBuffer;
+    private final VaccineCatalogue vaccineCatalogue;
+    private final CacheManager cacheManager;
+    private final int allocationBatchSize;
+    private final int sweepBatchSize;
+
+    public StockLotService(StockLotRepository stockLotRepository,
+                           VaccineRepository vaccineRepository,
+                           PlatformTransactionManager transactionManager,
+                           VaccineMetrics vaccineMetrics,
+                           StockSummary stockSummary,
+                           StockAlertEngine stockAlertEngine,
+                           StockLedger stockLedger,
+                           StockIncrementBuffer stockIncrementBuffer,
+                           VaccineCatalogue vaccineCatalogue,
+                           CacheManager cacheManager,
+                           @Value("${vaccine.lots.allocation-batch-size:100}") int allocationBatchSize,
+                           @Value("${vaccine.lots.sweep-batch-size:500}") int sweepBatchSize) {
+        this.stockLotRepository = stockLotRepository;
+        this.vaccineRepository = vaccineRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.vaccineMetrics = vaccineMetrics;
+        this.stockSummary = stockSummary;
+        this.stockAlertEngine = stockAlertEngine;
+        this.stockLedger = stockLedger;
+        this.stockIncrementBuffer = stockIncrementBuffer;
+        this.vaccineCatalogue = vaccineCatalogue;
+        this.cacheManager = cacheManager;
+        this.allocationBatchSize = allocationBatchSize;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public StockLotDTO receive(Long vaccineId, StockLotDTO stockLotDTO) throws VaccineNotFoundExcep, VaccineStockExceedException, LotAlreadyRegException {
+        if (stockLotRepository.findByVaccineIdAndLotNumber(vaccineId, stockLotDTO.getLotNumber()).isPresent()) {
+            throw new LotAlreadyRegException(vaccineId, stockLotDTO.getLotNumber());
+        }
+        if (vaccineRepository.incrementLotQuantity(vaccineId, stockLotDTO.getQuantity()) == 0) {
+            verifyIfExists(vaccineId);
+            throw new VaccineStockExceedException(vaccineId, stockLotDTO.getQuantity());
+        }
+        StockLot lot;
+        try {
+            lot = stockLotRepository.saveAndFlush(new StockLot(null, vaccineId, stockLotDTO.getLotNumber(),
+                    stockLotDTO.getExpiryDate(), stockLotDTO.getQuantity(), LotStatus.AVAILABLE));
+        } catch (DataIntegrityViolationException e) {
+            throw new LotAlreadyRegException(vaccineId, stockLotDTO.getLotNumber());
+        }
+        stockChanged(verifyIfExists(vaccineId), lot.getQuantity(), StockMovementReason.LOT_RECEIVED);
+        return toDTO(lot);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockLotDTO> listAvailable(Long vaccineId) throws VaccineNotFoundExcep {
+        verifyIfExists(vaccineId);
+        return stockLotRepository.findByVaccineIdAndStatusOrderByExpiryDateAscIdAsc(vaccineId, LotStatus.AVAILABLE).stream()
+                .map(StockLotService::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public List<LotAllocationDTO> dispense(Long vaccineId, int quantity) throws VaccineNotFoundExcep, LotStockInsufficientException {
+        verifyIfExists(vaccineId);
+        LocalDate today = today();
+        List<LotAllocationDTO> allocations = new ArrayList<>();
+        int remaining = quantity;
+        while (remaining > 0) {
+            List<StockLot> lots = stockLotRepository.findDispensable(vaccineId, today, PageRequest.of(0, allocationBatchSize));
+            if (lots.isEmpty()) {
+                throw new LotStockInsufficientException(vaccineId, quantity);
+            }
+            for (StockLot lot : lots) {
+                int taken = Math.min(lot.getQuantity(), remaining);
+                lot.setQuantity(lot.getQuantity() - taken);
+                if (lot.getQuantity() == 0) {
+                    lot.setStatus(LotStatus.DEPLETED);
+                }
+                allocations.add(toAllocation(lot, taken));
+                remaining -= taken;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            stockLotRepository.flush();
+        }
+        if (vaccineRepository.decrementLotQuantity(vaccineId, quantity) == 0) {
+            throw new LotStockInsufficientException(vaccineId, quantity);
+        }
+        stockChanged(verifyIfExists(vaccineId), -quantity, StockMovementReason.LOT_DISPENSED);
+        return allocations;
+    }
+
+    @Scheduled(fixedDelayString = "${vaccine.lots.sweep-interval-ms:3600000}")
+    public synchronized void sweepExpired() {
+        LocalDate today = today();
+        StockLot last = null;
+        List<StockLot> lots;
+        do {
+            StockLot after = last;
+            Map<Long, Integer> quarantined = new TreeMap<>();
+            lots = transactionTemplate.execute(status -> quarantineBatch(today, after, quarantined));
+            quarantined.forEach((vaccineId, quantity) -> vaccineRepository.findById(vaccineId).ifPresent(vaccine -> {
+                vaccineMetrics.recordUnitsQuarantined(vaccine.getType(), quantity);
+                stockChanged(vaccine, -quantity, StockMovementReason.LOT_QUARANTINED);
+            }));
+            if (!lots.isEmpty()) {
+                last = lots.get(lots.size() - 1);
+            }
+        } while (lots.size() == sweepBatchSize);
+    }
+
+    private List<StockLot> quarantineBatch(LocalDate today, StockLot after, Map<Long, Integer> quarantined) {
+        List<StockLot> lots = after == null
+                ? stockLotRepository.findExpired(today, PageRequest.of(0, sweepBatchSize))
+                : stockLotRepository.findExpiredAfter(today, after.getExpiryDate(), after.getId(), PageRequest.of(0, sweepBatchSize));
+        Map<Long, List<StockLot>> lotsByVaccine = lots.stream()
+                .collect(Collectors.groupingBy(StockLot::getVaccineId, TreeMap::new, Collectors.toList()));
+        List<Long> lotIds = new ArrayList<>();
+        lotsByVaccine.forEach((vaccineId, vaccineLots) -> {
+            int quantity = vaccineLots.stream().mapToInt(StockLot::getQuantity).sum();
+            if (vaccineRepository.decrementLotQuantity(vaccineId, quantity) == 0) {
+                log.error("Skipped {} expired lots of vaccine {}: its lot quantity is below their {} doses", vaccineLots.size(), vaccineId, quantity);
+                return;
+            }
+            quarantined.put(vaccineId, quantity);
+            vaccineLots.forEach(lot -> lotIds.add(lot.getId()));
+        });
+        if (!lotIds.isEmpty()) {
+            stockLotRepository.updateStatus(lotIds, LotStatus.QUARANTINED);
+        }
+        log.debug("Quarantined {} of {} expired lots of {} vaccines", lotIds.size(), lots.size(), quarantined.size());
+        return lots;
+    }
+
+    private void stockChanged(Vaccine vaccine, int delta, StockMovementReason reason) {
+        vaccineCatalogue.invalidate();
+        stockLedger.append(vaccine.getId(), delta, reason);
+        afterCommit(() -> {
+            evictByName(vaccine);
+            if (delta > 0) {
+                vaccineMetrics.recordUnitsAdded(vaccine.getType(), delta);
+            } else {
+                vaccineMetrics.recordUnitsRemoved(vaccine.getType(), -delta);
+            }
+            stockSummary.recordQuantityChanged(vaccine.getType(), delta);
+            stockAlertEngine.evaluate(vaccine);
+            stockIncrementBuffer.invalidate(vaccine.getId());
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void evictByName(Vaccine vaccine) {
+        Cache cache = cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE);
+        if (cache != null) {
+            cache.evict(vaccine.getName());
+        }
+    }
+
+    private Vaccine verifyIfExists(Long vaccineId) throws VaccineNotFoundExcep {
+        return vaccineRepository.findById(vaccineId)
+                .orElseThrow(() -> new VaccineNotFoundExcep(vaccineId));
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static StockLotDTO toDTO(StockLot lot) {
+        return StockLotDTO.builder()
+                .id(lot.getId())
+                .lotNumber(lot.getLotNumber())
+                .expiryDate(lot.getExpiryDate())
+                .quantity(lot.getQuantity())
+                .status(lot.getStatus())
+                .build();
+    }
+
+    private static LotAllocationDTO toAllocation(StockLot lot, int quantity) {
+        return LotAllocationDTO.builder()
+                .lotId(lot.getId())
+                .lotNumber(lot.getLotNumber())
+                .expiryDate(lot.getExpiryDate())
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.VaccineTypeSummaryDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.repository.VaccineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class StockSummary {
+
+    private final VaccineRepository vaccineRepository;
+    private final Map<VaccineType, Totals> totalsByType = new EnumMap<>(VaccineType.class);
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    public StockSummary(VaccineRepository vaccineRepository) {
+        this.vaccineRepository = vaccineRepository;
+        for (VaccineType type : VaccineType.values()) {
+            totalsByType.put(type, new Totals());
+        }
+    }
+
+    public void recordCreated(Vaccine vaccine) {
+        add(vaccine.getType(), 1, vaccine.getQuantity(), vaccine.getMax());
+    }
+
+    public void recordDeleted(Vaccine vaccine) {
+        add(vaccine.getType(), -1, -vaccine.getQuantity(), -vaccine.getMax());
+    }
+
+    public void recordUpdated(Vaccine before, Vaccine after) {
+        recordDeleted(before);
+        recordCreated(after);
+    }
+
+    public void recordQuantityChanged(VaccineType type, int delta) {
+        add(type, 0, delta, 0);
+    }
+
+    public List<VaccineTypeSummaryDTO> summarize() {
+        return totalsByType.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resets the counters to the database totals. Deltas are recorded after their transaction commits, so a
+     * change that commits before the snapshot is read but records its delta after the reset is counted twice.
+     * The error is bounded by the changes in flight during the snapshot and is corrected by the next reconcile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${vaccine.summary.reconcile-interval-ms:60000}",
+            initialDelayString = "${vaccine.summary.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Lock lock = reconcileLock.writeLock();
+        lock.lock();
+        try {
+            Map<VaccineType, VaccineRepository.TypeTotals> stored = vaccineRepository.summarizeByType().stream()
+                    .collect(Collectors.toMap(VaccineRepository.TypeTotals::getType, typeTotals -> typeTotals));
+            totalsByType.forEach((type, totals) -> {
+                VaccineRepository.TypeTotals typeTotals = stored.get(type);
+                long drift = typeTotals == null
+                        ? totals.reset(0, 0, 0)
+                        : totals.reset(typeTotals.getVaccines(), typeTotals.getQuantity(), typeTotals.getCapacity());
+                if (drift != 0) {
+                    log.warn("Stock summary for {} drifted {} doses from the database, counters were reset", type, drift);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(VaccineType type, long vaccines, long quantity, long capacity) {
+        Lock lock = reconcileLock.readLock();
+        lock.lock();
+        try {
+            totalsByType.get(type).add(vaccines, quantity, capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Totals {
+
+        private long vaccines;
+        private long quantity;
+        private long capacity;
+
+        private synchronized void add(long vaccines, long quantity, long capacity) {
+            this.vaccines += vaccines;
+            this.quantity += quantity;
+            this.capacity += capacity;
+        }
+
+        private synchronized long reset(long vaccines, long quantity, long capacity) {
+            long drift = quantity - this.quantity;
+            this.vaccines = vaccines;
+            this.quantity = quantity;
+            this.capacity = capacity;
+            return drift;
+        }
+
+        private synchronized VaccineTypeSummaryDTO toDTO(VaccineType type) {
+            return VaccineTypeSummaryDTO.builder()
+                    .type(type)
+                    .vaccines(vaccines)
+                    .quantity(quantity)
+                    .capacity(capacity)
+                    .utilisation(capacity == 0 ? 0 : (double) quantity / capacity)
+                    .build();
+        }
+    }
+}
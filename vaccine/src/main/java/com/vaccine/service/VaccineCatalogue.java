@@ -0,0 +1,113 @@
+package com.vaccine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaccine.dto.VaccineDTO;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class VaccineCatalogue {
+
+    private final ObjectWriter listingWriter;
+    private final Cache<String, Listing> listings;
+    private final AtomicLong version = new AtomicLong();
+
+    public VaccineCatalogue(ObjectMapper objectMapper,
+                            @Value("${vaccine.catalogue.max-listings:256}") int maxListings) {
+        this.listingWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, VaccineDTO.class));
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(maxListings)
+                .build();
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    public Listing page(Pageable pageable, Supplier<List<VaccineDTO>> vaccines) {
+        return listing("page:" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort(), vaccines, null);
+    }
+
+    public Listing after(Long cursor, int size, Supplier<List<VaccineDTO>> vaccines) {
+        return listing("after:" + cursor + ":" + size, vaccines, size);
+    }
+
+    private Listing listing(String key, Supplier<List<VaccineDTO>> vaccines, Integer cursorPageSize) {
+        long current = version.get();
+        Listing listing = listings.getIfPresent(key);
+        if (listing != null && listing.version >= current) {
+            return listing;
+        }
+        return listings.asMap().compute(key, (k, cached) -> cached != null && cached.version >= current
+                ? cached
+                : serialize(current, vaccines.get(), cursorPageSize));
+    }
+
+    private Listing serialize(long version, List<VaccineDTO> vaccines, Integer cursorPageSize) {
+        try {
+            byte[] json = listingWriter.writeValueAsBytes(vaccines);
+            Long nextCursor = cursorPageSize != null && !vaccines.isEmpty() && vaccines.size() >= cursorPageSize
+                    ? vaccines.get(vaccines.size() - 1).getId()
+                    : null;
+            return new Listing(version, json, gzip(json), DigestUtils.md5DigestAsHex(json), nextCursor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Vaccine listing could not be serialized", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Getter
+    public static class Listing {
+
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzippedJson;
+        private final String eTag;
+        private final String gzippedETag;
+        private final Long nextCursor;
+
+        private Listing(long version, byte[] json, byte[] gzippedJson, String hash, Long nextCursor) {
+            this.version = version;
+            this.json = json;
+            this.gzippedJson = gzippedJson;
+            this.eTag = "\"" + hash + "\"";
+            this.gzippedETag = "\"" + hash + "-gzip\"";
+            this.nextCursor = nextCursor;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.vaccine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.vaccine.alert.StockAlertEngine;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportErrorDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.ImportFormat;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineImportException;
+import com.vaccine.mapper.VaccineMapper;
+import com.vaccine.repository.VaccineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class VaccineImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = Arrays.asList("name", "brand", "max", "classification");
+
+    private final VaccineRepository vaccineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader vaccineReader;
+    private final StockSummary stockSummary;
+    private final StockLedger stockLedger;
+    private final StockAlertEngine stockAlertEngine;
+    private final VaccineCatalogue vaccineCatalogue;
+    private final VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
+    private final int chunkSize;
+
+    public VaccineImportService(VaccineRepository vaccineRepository,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                StockSummary stockSummary,
+                                StockLedger stockLedger,
+                                StockAlertEngine stockAlertEngine,
+                                VaccineCatalogue vaccineCatalogue,
+                                @Value("${vaccine.import.chunk-size:1000}") int chunkSize) {
+        this.vaccineRepository = vaccineRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.vaccineReader = objectMapper.readerFor(VaccineDTO.class);
+        this.stockSummary = stockSummary;
+        this.stockLedger = stockLedger;
+        this.stockAlertEngine = stockAlertEngine;
+        this.vaccineCatalogue = vaccineCatalogue;
+        this.chunkSize = chunkSize;
+    }
+
+    public VaccineImportReportDTO importVaccines(Reader reader, ImportFormat format) throws IOException, VaccineImportException {
+        BufferedReader lines = new BufferedReader(reader);
+        long lineNumber = 0;
+        Map<String, Integer> csvColumns = null;
+        if (format == ImportFormat.CSV) {
+            String header = lines.readLine();
+            lineNumber++;
+            csvColumns = csvColumns(header);
+        }
+
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        for (String line; (line = lines.readLine()) != null; ) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new ImportRow(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, format, csvColumns, progress);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, format, csvColumns, progress);
+        }
+        log.info("Vaccine import finished: {} imported, {} rejected", progress.imported, progress.errors.size());
+        return VaccineImportReportDTO.builder()
+                .imported(progress.imported)
+                .rejected(progress.errors.size())
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportFormat format, Map<String, Integer> csvColumns, ImportProgress progress) {
+        chunk.parallelStream().forEach(row -> {
+            if (format == ImportFormat.CSV) {
+                parseCsv(row, csvColumns);
+            } else {
+                parseNdjson(row);
+            }
+            validate(row);
+        });
+
+        Map<String, ImportRow> rowsByName = new HashMap<>();
+        for (ImportRow row : chunk) {
+            if (row.isValid() && (progress.importedNames.contains(row.vaccine.getName())
+                    || rowsByName.putIfAbsent(row.vaccine.getName(), row) != null)) {
+                row.messages.add("name appears more than once in the import");
+            }
+        }
+        if (!rowsByName.isEmpty()) {
+            vaccineRepository.findNamesIn(rowsByName.keySet()).stream()
+                    .map(rowsByName::remove)
+                    .filter(Objects::nonNull)
+                    .forEach(row -> row.messages.add("name is already registered"));
+        }
+
+        List<ImportRow> accepted = chunk.stream()
+                .filter(ImportRow::isValid)
+                .collect(Collectors.toList());
+        List<Vaccine> vaccines = accepted.stream()
+                .map(row -> newVaccine(row.vaccine))
+                .collect(Collectors.toList());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                vaccineRepository.saveAll(vaccines);
+                vaccines.forEach(vaccine -> stockLedger.append(vaccine.getId(), vaccine.getQuantity(), StockMovementReason.CREATED));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Vaccine import chunk of {} rows rolled back", accepted.size(), e);
+            accepted.forEach(row -> row.messages.add("chunk rolled back, a name was registered concurrently"));
+            vaccines.clear();
+        }
+        if (!vaccines.isEmpty()) {
+            vaccineCatalogue.invalidate();
+        }
+
+        for (Vaccine vaccine : vaccines) {
+            progress.importedNames.add(vaccine.getName());
+            stockSummary.recordCreated(vaccine);
+            stockAlertEngine.evaluate(vaccine);
+        }
+        progress.imported += vaccines.size();
+        chunk.stream()
+                .filter(row -> !row.isValid())
+                .map(ImportRow::toError)
+                .forEach(progress.errors::add);
+    }
+
+    private Map<String, Integer> csvColumns(String header) throws VaccineImportException {
+        if (header == null) {
+            throw new VaccineImportException("CSV header line is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            columns.put(name.equals("type") ? "classification" : name, i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new VaccineImportException("CSV header lacks columns " + missing);
+        }
+        return columns;
+    }
+
+    private void parseCsv(ImportRow row, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(row.line);
+        VaccineDTO vaccine = new VaccineDTO();
+        vaccine.setName(csvField(fields, columns, "name"));
+        vaccine.setBrand(csvField(fields, columns, "brand"));
+        String max = csvField(fields, columns, "max");
+        String quantity = csvField(fields, columns, "quantity");
+        String classification = csvField(fields, columns, "classification");
+        try {
+            vaccine.setMax(max == null ? 0 : Double.parseDouble(max));
+        } catch (NumberFormatException e) {
+            row.messages.add("max is not a number");
+        }
+        try {
+            vaccine.setQuantity(quantity == null ? 0 : Double.parseDouble(quantity));
+        } catch (NumberFormatException e) {
+            row.messages.add("quantity is not a number");
+        }
+        try {
+            vaccine.setClassification(classification == null ? null : VaccineType.valueOf(classification.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            row.messages.add("classification must be one of " + Arrays.toString(VaccineType.values()));
+        }
+        row.vaccine = vaccine;
+    }
+
+    private void parseNdjson(ImportRow row) {
+        try {
+            row.vaccine = vaccineReader.readValue(row.line);
+        } catch (JsonProcessingException e) {
+            row.messages.add("malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(ImportRow row) {
+        if (row.vaccine == null || !row.messages.isEmpty()) {
+            return;
+        }
+        validator.validate(row.vaccine).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .forEach(row.messages::add);
+        if (row.vaccine.getQuantity() > row.vaccine.getMax()) {
+            row.messages.add("quantity exceeds max");
+        }
+    }
+
+    private Vaccine newVaccine(VaccineDTO vaccineDTO) {
+        Vaccine vaccine = vaccineMapper.toModel(vaccineDTO);
+        vaccine.setId(null);
+        return vaccine;
+    }
+
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String field = fields.get(index).trim();
+        return field.isEmpty() ? null : field;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ImportProgress {
+
+        private final Set<String> importedNames = new HashSet<>();
+        private final List<VaccineImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+    }
+
+    private static class ImportRow {
+
+        private final long lineNumber;
+        private final String line;
+        private final List<String> messages = new ArrayList<>();
+        private VaccineDTO vaccine;
+
+        private ImportRow(long lineNumber, String line) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+        }
+
+        private boolean isValid() {
+            return vaccine != null && messages.isEmpty();
+        }
+
+        private VaccineImportErrorDTO toError() {
+            return VaccineImportErrorDTO.builder()
+                    .line(lineNumber)
+                    .name(vaccine == null ? null : vaccine.getName())
+                    .messages(messages)
+                    .build();
+        }
+    }
+}
@@ -1,50 +1,175 @@
 package com.vaccine.service;
 
+import com.vaccine.alert.StockAlertEngine;
+import com.vaccine.config.CacheConfig;
+import com.vaccine.exception.InvalidHistoryRangeException;
 import com.vaccine.exception.VaccineAlreadyRegException;
 import com.vaccine.exception.VaccineNotFoundExcep;
 import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.exception.VaccineVersionMismatchException;
 import com.vaccine.repository.VaccineRepository;
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.StockMovementResultDTO;
 import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineTypeSummaryDTO;
 import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.enums.StockMovementStatus;
 import com.vaccine.mapper.VaccineMapper;
+import com.vaccine.metrics.VaccineMetrics;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class VaccineService {
 
+    private static final int STOCK_MOVEMENT_ID_CHUNK_SIZE = 1000;
+
     private final VaccineRepository vaccineRepository;
+    private final EntityManager entityManager;
+    private final VaccineMetrics vaccineMetrics;
+    private final StockIncrementBuffer stockIncrementBuffer;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final StockSummary stockSummary;
+    private final StockAlertEngine stockAlertEngine;
+    private final StockLedger stockLedger;
+    private final StockHistory stockHistory;
+    private final VaccineCatalogue vaccineCatalogue;
     private final VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
 
+    @CachePut(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, key = "#result.name")
     public VaccineDTO createVaccine(VaccineDTO vaccineDTO) throws VaccineAlreadyRegException{
         verifyIfAlreadyRegistered(vaccineDTO.getName());
         Vaccine vaccine = vaccineMapper.toModel(vaccineDTO);
-        Vaccine saveVaccine = vaccineRepository.save(vaccine);
+        Vaccine saveVaccine;
+        try {
+            saveVaccine = vaccineRepository.save(vaccine);
+        } catch (DataIntegrityViolationException e) {
+            throw new VaccineAlreadyRegException(vaccineDTO.getName());
+        }
+        vaccineCatalogue.invalidate();
+        stockSummary.recordCreated(saveVaccine);
+        stockLedger.append(saveVaccine.getId(), saveVaccine.getQuantity(), StockMovementReason.CREATED);
+        stockAlertEngine.evaluate(saveVaccine);
         return vaccineMapper.toDTO(saveVaccine);
     }
 
+    @Cacheable(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE)
     public VaccineDTO findByName(String name) throws VaccineNotFoundExcep {
         Vaccine foundVaccine = vaccineRepository.findByName(name)
                 .orElseThrow(() -> new VaccineNotFoundExcep(name));
         return vaccineMapper.toDTO(foundVaccine);
     }
 
-    public List<VaccineDTO> listAll(){
-    return vaccineRepository.findAll()
-            .stream()
-            .map(vaccineMapper::toDTO)
-            .collect(Collectors.toList());
+    public List<VaccineDTO> listAll(Pageable pageable){
+        return vaccineRepository.findAllBy(pageable)
+                .map(vaccineMapper::toDTO)
+                .getContent();
+    }
+
+    public List<VaccineDTO> listAfter(Long cursor, int size){
+        return vaccineRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, size))
+                .stream()
+                .map(vaccineMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<VaccineDTO> consumer){
+        try (Stream<Vaccine> vaccines = vaccineRepository.streamAll()) {
+            vaccines.forEach(vaccine -> {
+                consumer.accept(vaccineMapper.toDTO(vaccine));
+                entityManager.detach(vaccine);
+            });
+        }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, allEntries = true)
     public void deleteById(Long id) throws VaccineNotFoundExcep {
-        verifyIfExists(id);
+        Vaccine vaccine = verifyIfExists(id);
         vaccineRepository.deleteById(id);
+        vaccineCatalogue.invalidate();
+        stockSummary.recordDeleted(vaccine);
+        stockLedger.append(id, -vaccine.getQuantity(), StockMovementReason.DELETED);
+        stockAlertEngine.forget(id);
+        stockIncrementBuffer.invalidate(id);
+    }
+
+    public List<VaccineTypeSummaryDTO> summarize() {
+        return stockSummary.summarize();
+    }
+
+    public StockHistoryDTO history(Long id, Instant from, Instant to, Duration step) throws VaccineNotFoundExcep, InvalidHistoryRangeException {
+        verifyIfExists(id);
+        return stockHistory.history(id, from, to, step);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, allEntries = true)
+    public void deleteById(Long id, Long expectedVersion) throws VaccineNotFoundExcep, VaccineVersionMismatchException {
+        if (expectedVersion == null) {
+            deleteById(id);
+            return;
+        }
+        Vaccine vaccine = verifyIfExists(id);
+        verifyVersion(vaccine, expectedVersion);
+        if (vaccineRepository.deleteByIdAtVersion(id, expectedVersion) == 0) {
+            throw new VaccineVersionMismatchException(id, expectedVersion);
+        }
+        vaccineCatalogue.invalidate();
+        stockSummary.recordDeleted(vaccine);
+        stockLedger.append(id, -vaccine.getQuantity(), StockMovementReason.DELETED);
+        stockAlertEngine.forget(id);
+        stockIncrementBuffer.invalidate(id);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, allEntries = true)
+    public VaccineDTO updateVaccine(Long id, VaccineDTO vaccineDTO, Long expectedVersion) throws VaccineNotFoundExcep, VaccineVersionMismatchException, VaccineStockExceedException, VaccineUpdateConflictException {
+        int max = (int) vaccineDTO.getMax();
+        for (int attempt = 1; ; attempt++) {
+            Vaccine vaccine = verifyIfExists(id);
+            if (expectedVersion != null) {
+                verifyVersion(vaccine, expectedVersion);
+            }
+            if (vaccine.getQuantity() > max) {
+                throw new VaccineStockExceedException(id, vaccine.getQuantity() - max);
+            }
+            if (vaccineRepository.updateAtVersion(id, vaccine.getVersion(), vaccineDTO.getBrand(), max, vaccineDTO.getClassification()) == 1) {
+                vaccineCatalogue.invalidate();
+                Vaccine updatedVaccine = verifyIfExists(id);
+                stockSummary.recordUpdated(vaccine, updatedVaccine);
+                stockAlertEngine.evaluate(updatedVaccine);
+                stockIncrementBuffer.invalidate(id);
+                return vaccineMapper.toDTO(updatedVaccine);
+            }
+            if (!optimisticLockRetry.backOff("updateVaccine", attempt)) {
+                throw new VaccineUpdateConflictException(id, attempt);
+            }
+        }
     }
 
     private void verifyIfAlreadyRegistered(String name) throws VaccineAlreadyRegException {
@@ -59,15 +184,145 @@ public class VaccineService {
                 .orElseThrow(() -> new VaccineNotFoundExcep(id));
     }
 
+    private void verifyVersion(Vaccine vaccine, Long expectedVersion) throws VaccineVersionMismatchException {
+        if (!vaccine.getVersion().equals(expectedVersion)) {
+            throw new VaccineVersionMismatchException(vaccine.getId(), expectedVersion);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, key = "#result.name")
+    @Transactional(rollbackFor = Exception.class)
     public VaccineDTO increment(Long id, int quantityToIncrement) throws VaccineNotFoundExcep, VaccineStockExceedException {
-        Vaccine vaccineToIncrementStock = verifyIfExists(id);
-        int quantityAfterincrement = quantityToIncrement + vaccineToIncrementStock.getQuantity();
-        if(quantityAfterincrement <= vaccineToIncrementStock.getMax()){
-            vaccineToIncrementStock.setQuantity(vaccineToIncrementStock.getQuantity() + quantityToIncrement);
-            Vaccine IncrementVaccineStock = vaccineRepository.save(vaccineToIncrementStock);
-            return vaccineMapper.toDTO(IncrementVaccineStock);
-        }
-        throw new VaccineStockExceedException(id, quantityToIncrement);
+        if (stockIncrementBuffer.isEnabled()) {
+            return stockIncrementBuffer.increment(id, quantityToIncrement);
+        }
+        if (vaccineRepository.incrementQuantity(id, quantityToIncrement) == 0) {
+            verifyIfExists(id);
+            throw new VaccineStockExceedException(id, quantityToIncrement);
+        }
+        return incremented(id, quantityToIncrement);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, key = "#result.name")
+    @Transactional(rollbackFor = Exception.class)
+    public VaccineDTO increment(Long id, int quantityToIncrement, Long expectedVersion) throws VaccineNotFoundExcep, VaccineStockExceedException, VaccineVersionMismatchException {
+        if (expectedVersion == null) {
+            return increment(id, quantityToIncrement);
+        }
+        if (vaccineRepository.incrementQuantityAtVersion(id, quantityToIncrement, expectedVersion) == 0) {
+            verifyVersion(verifyIfExists(id), expectedVersion);
+            throw new VaccineStockExceedException(id, quantityToIncrement);
+        }
+        return incremented(id, quantityToIncrement);
+    }
+
+    private VaccineDTO incremented(Long id, int quantityToIncrement) throws VaccineNotFoundExcep {
+        vaccineCatalogue.invalidate();
+        Vaccine incrementedVaccine = verifyIfExists(id);
+        recordStockChange(incrementedVaccine, quantityToIncrement, StockMovementReason.INCREMENT);
+        return vaccineMapper.toDTO(incrementedVaccine);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, key = "#result.name")
+    @Transactional(rollbackFor = Exception.class)
+    public VaccineDTO decrement(Long id, int quantityToDecrement) throws VaccineNotFoundExcep, VaccineStockInsufficientException {
+        if (vaccineRepository.decrementQuantity(id, quantityToDecrement) == 0) {
+            verifyIfExists(id);
+            throw new VaccineStockInsufficientException(id, quantityToDecrement);
+        }
+        return decremented(id, quantityToDecrement);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, key = "#result.name")
+    @Transactional(rollbackFor = Exception.class)
+    public VaccineDTO decrement(Long id, int quantityToDecrement, Long expectedVersion) throws VaccineNotFoundExcep, VaccineStockInsufficientException, VaccineVersionMismatchException {
+        if (expectedVersion == null) {
+            return decrement(id, quantityToDecrement);
+        }
+        if (vaccineRepository.decrementQuantityAtVersion(id, quantityToDecrement, expectedVersion) == 0) {
+            verifyVersion(verifyIfExists(id), expectedVersion);
+            throw new VaccineStockInsufficientException(id, quantityToDecrement);
+        }
+        return decremented(id, quantityToDecrement);
+    }
+
+    private VaccineDTO decremented(Long id, int quantityToDecrement) throws VaccineNotFoundExcep {
+        vaccineCatalogue.invalidate();
+        Vaccine decrementedVaccine = verifyIfExists(id);
+        recordStockChange(decrementedVaccine, -quantityToDecrement, StockMovementReason.DECREMENT);
+        return vaccineMapper.toDTO(decrementedVaccine);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.VACCINES_BY_NAME_CACHE, allEntries = true)
+    @Transactional
+    public List<StockMovementResultDTO> applyStockMovements(List<StockMovementDTO> movements) {
+        List<Long> ids = movements.stream()
+                .map(StockMovementDTO::getId)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        Map<Long, Vaccine> vaccinesById = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += STOCK_MOVEMENT_ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STOCK_MOVEMENT_ID_CHUNK_SIZE, ids.size()));
+            vaccineRepository.findByIdInOrderByIdAsc(chunk)
+                    .forEach(vaccine -> vaccinesById.put(vaccine.getId(), vaccine));
+        }
+        vaccineCatalogue.invalidate();
+        return movements.stream()
+                .map(movement -> applyStockMovement(vaccinesById.get(movement.getId()), movement))
+                .collect(Collectors.toList());
+    }
+
+    private StockMovementResultDTO applyStockMovement(Vaccine vaccine, StockMovementDTO movement) {
+        if (vaccine == null) {
+            return toStockMovementResult(movement, StockMovementStatus.NOT_FOUND, null);
+        }
+        int quantityAfterMovement = vaccine.getQuantity() + movement.getDelta();
+        if (quantityAfterMovement > vaccine.getMax()) {
+            return toStockMovementResult(movement, StockMovementStatus.EXCEEDED, vaccine.getQuantity());
+        }
+        if (quantityAfterMovement < vaccine.getSiteQuantity() + vaccine.getLotQuantity()) {
+            return toStockMovementResult(movement, StockMovementStatus.INSUFFICIENT, vaccine.getQuantity());
+        }
+        vaccine.setQuantity(quantityAfterMovement);
+        recordStockChange(vaccine, movement.getDelta(), StockMovementReason.BATCH);
+        return toStockMovementResult(movement, StockMovementStatus.APPLIED, quantityAfterMovement);
+    }
+
+    private void recordStockChange(Vaccine vaccine, int delta, StockMovementReason reason) {
+        stockLedger.append(vaccine.getId(), delta, reason);
+        afterCommit(() -> {
+            if (delta > 0) {
+                vaccineMetrics.recordUnitsAdded(vaccine.getType(), delta);
+            } else if (delta < 0) {
+                vaccineMetrics.recordUnitsRemoved(vaccine.getType(), -delta);
+            }
+            stockSummary.recordQuantityChanged(vaccine.getType(), delta);
+            stockAlertEngine.evaluate(vaccine);
+            stockIncrementBuffer.invalidate(vaccine.getId());
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private StockMovementResultDTO toStockMovementResult(StockMovementDTO movement, StockMovementStatus status, Integer quantity) {
+        return StockMovementResultDTO.builder()
+                .id(movement.getId())
+                .delta(movement.getDelta())
+                .status(status)
+                .quantity(quantity)
+                .build();
     }
 
 
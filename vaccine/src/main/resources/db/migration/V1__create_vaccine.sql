@@ -0,0 +1,16 @@
+CREATE SEQUENCE vaccine_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE vaccine (
+    id       BIGINT       NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    brand    VARCHAR(255) NOT NULL,
+    max      INTEGER      NOT NULL,
+    quantity INTEGER      NOT NULL,
+    type     VARCHAR(255) NOT NULL,
+    version  BIGINT       NOT NULL,
+    CONSTRAINT pk_vaccine PRIMARY KEY (id),
+    CONSTRAINT uk_vaccine_name UNIQUE (name),
+    CONSTRAINT ck_vaccine_quantity CHECK (quantity BETWEEN 0 AND max)
+);
+
+CREATE INDEX ix_vaccine_type ON vaccine (type);
@@ -0,0 +1,25 @@
+CREATE SEQUENCE stock_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_ledger (
+    id          BIGINT       NOT NULL,
+    vaccine_id  BIGINT       NOT NULL,
+    delta       INTEGER      NOT NULL,
+    reason      VARCHAR(255) NOT NULL,
+    occurred_at TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_stock_ledger PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_stock_ledger_vaccine ON stock_ledger (vaccine_id, id);
+
+CREATE SEQUENCE stock_snapshot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_snapshot (
+    id            BIGINT    NOT NULL,
+    vaccine_id    BIGINT    NOT NULL,
+    quantity      BIGINT    NOT NULL,
+    last_entry_id BIGINT    NOT NULL,
+    taken_at      TIMESTAMP NOT NULL,
+    CONSTRAINT pk_stock_snapshot PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_stock_snapshot_vaccine ON stock_snapshot (vaccine_id, last_entry_id);
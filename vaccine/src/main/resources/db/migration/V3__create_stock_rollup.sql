@@ -0,0 +1,16 @@
+CREATE SEQUENCE stock_rollup_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_rollup (
+    id               BIGINT       NOT NULL,
+    vaccine_id       BIGINT       NOT NULL,
+    resolution       VARCHAR(255) NOT NULL,
+    bucket_start     TIMESTAMP    NOT NULL,
+    min_quantity     BIGINT       NOT NULL,
+    max_quantity     BIGINT       NOT NULL,
+    closing_quantity BIGINT       NOT NULL,
+    last_entry_id    BIGINT       NOT NULL,
+    CONSTRAINT pk_stock_rollup PRIMARY KEY (id),
+    CONSTRAINT uk_stock_rollup_bucket UNIQUE (vaccine_id, resolution, bucket_start)
+);
+
+CREATE INDEX ix_stock_rollup_last_entry ON stock_rollup (last_entry_id);
@@ -0,0 +1,29 @@
+ALTER TABLE vaccine ADD COLUMN site_quantity INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE vaccine ADD CONSTRAINT ck_vaccine_site_quantity CHECK (site_quantity BETWEEN 0 AND quantity);
+
+CREATE SEQUENCE site_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE site (
+    id   BIGINT       NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_site PRIMARY KEY (id),
+    CONSTRAINT uk_site_name UNIQUE (name)
+);
+
+CREATE SEQUENCE site_stock_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE site_stock (
+    id         BIGINT  NOT NULL,
+    vaccine_id BIGINT  NOT NULL,
+    site_id    BIGINT  NOT NULL,
+    max        INTEGER NOT NULL,
+    quantity   INTEGER NOT NULL,
+    CONSTRAINT pk_site_stock PRIMARY KEY (id),
+    CONSTRAINT uk_site_stock_vaccine_site UNIQUE (vaccine_id, site_id),
+    CONSTRAINT fk_site_stock_vaccine FOREIGN KEY (vaccine_id) REFERENCES vaccine (id) ON DELETE CASCADE,
+    CONSTRAINT fk_site_stock_site FOREIGN KEY (site_id) REFERENCES site (id),
+    CONSTRAINT ck_site_stock_quantity CHECK (quantity BETWEEN 0 AND max)
+);
+
+CREATE INDEX ix_site_stock_site ON site_stock (site_id);
@@ -0,0 +1,22 @@
+ALTER TABLE vaccine ADD COLUMN lot_quantity INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE vaccine ADD CONSTRAINT ck_vaccine_lot_quantity CHECK (lot_quantity >= 0 AND site_quantity + lot_quantity <= quantity);
+
+CREATE SEQUENCE stock_lot_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_lot (
+    id          BIGINT       NOT NULL,
+    vaccine_id  BIGINT       NOT NULL,
+    lot_number  VARCHAR(255) NOT NULL,
+    expiry_date DATE         NOT NULL,
+    quantity    INTEGER      NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_stock_lot PRIMARY KEY (id),
+    CONSTRAINT uk_stock_lot_vaccine_lot_number UNIQUE (vaccine_id, lot_number),
+    CONSTRAINT fk_stock_lot_vaccine FOREIGN KEY (vaccine_id) REFERENCES vaccine (id) ON DELETE CASCADE,
+    CONSTRAINT ck_stock_lot_quantity CHECK (quantity >= 0)
+);
+
+CREATE INDEX ix_stock_lot_fefo ON stock_lot (vaccine_id, status, expiry_date, id);
+
+CREATE INDEX ix_stock_lot_expiry ON stock_lot (status, expiry_date, id);
@@ -0,0 +1 @@
+CREATE INDEX ix_stock_rollup_resolution_bucket ON stock_rollup (resolution, bucket_start);
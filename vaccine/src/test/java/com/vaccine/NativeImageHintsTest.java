@@ -0,0 +1,66 @@
+package com.vaccine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+
+import javax.persistence.Entity;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.in;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+public class NativeImageHintsTest {
+
+    private static final String HINTS = "META-INF/native-image/com.vaccine/vaccine/";
+
+    @Test
+    void whenHintsAreReadThenEveryHintedTypeExists() throws IOException, ClassNotFoundException {
+        for (String name : reflectedTypes()) {
+            assertDoesNotThrow(() -> Class.forName(name, false, getClass().getClassLoader()), name);
+        }
+        for (JsonNode proxy : read("proxy-config.json")) {
+            for (JsonNode type : proxy.get("interfaces")) {
+                assertThat(type.asText(), Class.forName(type.asText(), false, getClass().getClassLoader()).isInterface(), is(true));
+            }
+        }
+    }
+
+    @Test
+    void whenEntitiesOrDtosAreAddedThenTheyAreHintedForReflection() throws IOException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile("com\\.vaccine\\.dto\\..*DTO")));
+
+        Set<String> types = scanner.findCandidateComponents("com.vaccine").stream()
+                .map(BeanDefinition::getBeanClassName)
+                .collect(Collectors.toSet());
+
+        assertThat(types, everyItem(is(in(reflectedTypes()))));
+    }
+
+    private Set<String> reflectedTypes() throws IOException {
+        return StreamSupport.stream(read("reflect-config.json").spliterator(), false)
+                .map(type -> type.get("name").asText())
+                .collect(Collectors.toSet());
+    }
+
+    private static JsonNode read(String file) throws IOException {
+        try (InputStream hints = new ClassPathResource(HINTS + file).getInputStream()) {
+            return new ObjectMapper().readTree(hints);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.vaccine;
+
+import com.vaccine.dto.SiteDTO;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.enums.ImportFormat;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.SiteStockExceedException;
+import com.vaccine.exception.SiteStockInsufficientException;
+import com.vaccine.repository.VaccineRepository;
+import com.vaccine.service.SiteStockService;
+import com.vaccine.service.VaccineImportService;
+import com.vaccine.service.VaccineService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("postgres")
+public class PostgresProfileTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private VaccineImportService vaccineImportService;
+
+    @Autowired
+    private SiteStockService siteStockService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM site");
+    }
+
+    @Test
+    void whenPostgresProfileIsActiveThenSchemaIsMigratedThroughTheTunedPool() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        assertThat(jdbcTemplate.queryForObject("SELECT version()", String.class), startsWith("PostgreSQL"));
+        assertThat(flyway.info().current().getVersion().getVersion(), is(equalTo("6")));
+        assertThat(hikari.getPoolName(), is(equalTo("vaccine-postgres")));
+        assertThat(hikari.getMaximumPoolSize(), is(equalTo(20)));
+        assertThat(hikari.getDataSourceProperties().getProperty("reWriteBatchedInserts"), is(equalTo("true")));
+    }
+
+    @Test
+    void whenCsvIsImportedThenEveryRowIsInsertedInBatches() throws Exception {
+        // given
+        StringBuilder csv = new StringBuilder("name,brand,max,quantity,type\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("Vaccine-").append(i).append(",Brand,100,").append(i % 100).append(",PFIZER\n");
+        }
+
+        // when
+        VaccineImportReportDTO report = vaccineImportService.importVaccines(new StringReader(csv.toString()), ImportFormat.CSV);
+
+        // then
+        assertThat(report.getImported(), is(equalTo(250L)));
+        assertThat(vaccineRepository.count(), is(equalTo(250L)));
+        assertThat(vaccineRepository.findByName("Vaccine-99").get().getQuantity(), is(equalTo(99)));
+    }
+
+    @Test
+    void whenStockChangesThenQuantityStaysWithinTheCheckConstraint() throws Exception {
+        // given
+        VaccineDTO vaccine = vaccineService.createVaccine(VaccineDTO.builder()
+                .name("Moderna")
+                .brand("Moderna")
+                .max(10)
+                .quantity(5)
+                .classification(VaccineType.MODERNA)
+                .build());
+
+        // when
+        vaccineService.increment(vaccine.getId(), 5);
+        vaccineService.decrement(vaccine.getId(), 3);
+
+        // then
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(7)));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("UPDATE vaccine SET quantity = max + 1 WHERE id = ?", vaccine.getId()));
+    }
+
+    @Test
+    void whenTransfersRunBothWaysBetweenSitesThenRowLocksNeverDeadlock() throws Exception {
+        // given
+        VaccineDTO vaccine = vaccineService.createVaccine(VaccineDTO.builder()
+                .name("Pfizer")
+                .brand("BioNTech")
+                .max(2000)
+                .quantity(0)
+                .classification(VaccineType.PFIZER)
+                .build());
+        List<Long> sites = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Long site = siteStockService.createSite(SiteDTO.builder().name("Site-" + i).build()).getId();
+            siteStockService.setCapacity(vaccine.getId(), site, 200);
+            siteStockService.increment(vaccine.getId(), site, 100);
+            sites.add(site);
+        }
+
+        // when
+        List<Callable<Void>> transfers = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            boolean hotPair = i % 2 == 0;
+            transfers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = hotPair ? random.nextInt(2) : random.nextInt(sites.size());
+                int to = hotPair ? 1 - from : (from + 1 + random.nextInt(sites.size() - 1)) % sites.size();
+                try {
+                    siteStockService.transfer(vaccine.getId(), sites.get(from), sites.get(to), 1 + random.nextInt(10));
+                } catch (SiteStockInsufficientException | SiteStockExceedException e) {
+                    // rejected transfers leave both sites untouched
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (Future<Void> future : executor.invokeAll(transfers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM site_stock WHERE vaccine_id = ?", Long.class, vaccine.getId()),
+                is(equalTo(2000L)));
+        assertThat(siteStockService.listStock(vaccine.getId()).getSiteQuantity(), is(equalTo(2000)));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vaccine;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenApplicationStartsThenEveryMigrationIsApplied() {
+        assertThat(flyway.info().pending().length, is(equalTo(0)));
+        assertThat(flyway.info().current().getVersion().getVersion(), is(equalTo("6")));
+    }
+
+    @Test
+    void whenQuantityIsOutsideZeroAndMaxThenTheDatabaseRejectsIt() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO vaccine (id, name, brand, max, quantity, type, version) VALUES (-1, 'Overfull', 'Brand', 10, 11, 'PFIZER', 0)"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO vaccine (id, name, brand, max, quantity, type, version) VALUES (-2, 'Negative', 'Brand', 10, -1, 'PFIZER', 0)"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vaccine WHERE id < 0", Long.class), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenVaccinesAreLookedUpByNameOrGroupedByTypeThenIndexesAreInPlace() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'VACCINE' AND INDEX_NAME = 'IX_VACCINE_TYPE'", Long.class),
+                is(equalTo(1L)));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT CONSTRAINT_TYPE FROM INFORMATION_SCHEMA.CONSTRAINTS WHERE CONSTRAINT_NAME = 'UK_VACCINE_NAME'", String.class),
+                is(equalTo("UNIQUE")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vaccine WHERE name IS NULL", Long.class), is(equalTo(0L)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.vaccine.alert;
+
+import com.vaccine.config.StockAlertProperties;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockAlertLevel;
+import com.vaccine.enums.VaccineType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class StockAlertEngineTest {
+
+    private final Queue<StockAlert> alerts = new ConcurrentLinkedQueue<>();
+
+    private StockAlertProperties properties;
+
+    private StockAlertEngine stockAlertEngine;
+
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StockAlertProperties();
+        properties.setDefaults(new StockAlertProperties.Threshold(10, 0.9));
+        properties.setHysteresis(0.05);
+        stockAlertEngine = new StockAlertEngine(properties, Collections.singletonList(alerts::add));
+    }
+
+    @Test
+    void whenStockFallsToReorderPointThenLowStockIsRaisedOnce() {
+        // when
+        stockAlertEngine.evaluate(vaccineWith(10));
+        stockAlertEngine.evaluate(vaccineWith(8));
+        stockAlertEngine.evaluate(vaccineWith(3));
+
+        // then
+        assertThat(alerts.size(), is(equalTo(1)));
+        StockAlert alert = alerts.poll();
+        assertThat(alert.getLevel(), is(equalTo(StockAlertLevel.LOW_STOCK)));
+        assertThat(alert.getPreviousLevel(), is(equalTo(StockAlertLevel.NORMAL)));
+        assertThat(alert.getQuantity(), is(equalTo(10)));
+    }
+
+    @Test
+    void whenStockFlapsAroundReorderPointThenHysteresisHoldsTheAlert() {
+        // given
+        stockAlertEngine.evaluate(vaccineWith(9));
+        alerts.clear();
+
+        // when
+        stockAlertEngine.evaluate(vaccineWith(12));
+        stockAlertEngine.evaluate(vaccineWith(9));
+        stockAlertEngine.evaluate(vaccineWith(15));
+        stockAlertEngine.evaluate(vaccineWith(16));
+
+        // then
+        assertThat(alerts.size(), is(equalTo(1)));
+        StockAlert alert = alerts.poll();
+        assertThat(alert.isRaised(), is(false));
+        assertThat(alert.getPreviousLevel(), is(equalTo(StockAlertLevel.LOW_STOCK)));
+        assertThat(alert.getQuantity(), is(equalTo(16)));
+    }
+
+    @Test
+    void whenStockNearsMaxThenNearCapacityIsRaisedAndClearedBelowTheBand() {
+        // when
+        stockAlertEngine.evaluate(vaccineWith(90));
+        stockAlertEngine.evaluate(vaccineWith(86));
+        stockAlertEngine.evaluate(vaccineWith(84));
+
+        // then
+        assertThat(alerts.poll().getLevel(), is(equalTo(StockAlertLevel.NEAR_CAPACITY)));
+        assertThat(alerts.poll().getLevel(), is(equalTo(StockAlertLevel.NORMAL)));
+        assertThat(alerts.poll(), is(nullValue()));
+    }
+
+    @Test
+    void whenVaccineThresholdIsConfiguredThenItOverridesTypeAndDefaults() {
+        // given
+        properties.getTypes().put(VaccineType.PFIZER, new StockAlertProperties.Threshold(30, null));
+        properties.getVaccines().put("Pfizer", new StockAlertProperties.Threshold(50, null));
+
+        // when
+        stockAlertEngine.evaluate(vaccineWith(50));
+
+        // then
+        assertThat(alerts.poll().getLevel(), is(equalTo(StockAlertLevel.LOW_STOCK)));
+    }
+
+    @Test
+    void whenAnOlderVersionIsEvaluatedLateThenItIsIgnored() {
+        // given
+        Vaccine older = vaccineWith(5);
+        Vaccine newer = vaccineWith(50);
+
+        // when
+        stockAlertEngine.evaluate(newer);
+        stockAlertEngine.evaluate(older);
+
+        // then
+        assertThat(alerts.isEmpty(), is(true));
+    }
+
+    private Vaccine vaccineWith(int quantity) {
+        return new Vaccine(1L, "Pfizer", "BioNTech", 100, quantity, VaccineType.PFIZER, version++);
+    }
+}
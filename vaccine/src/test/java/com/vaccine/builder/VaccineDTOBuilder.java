@@ -25,13 +25,17 @@ public class VaccineDTOBuilder {
     @Builder.Default
     private VaccineType type = VaccineType.PFIZER;
 
+    @Builder.Default
+    private Long version = 0L;
+
     public VaccineDTO toVaccineDTO(){
         return new VaccineDTO(id,
                 name,
                 brand,
                 max,
                 quantity,
-                type);
+                type,
+                version);
     }
 
 }
@@ -0,0 +1,62 @@
+package com.vaccine.config;
+
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = "vaccine.id.allocation-size=20")
+public class VaccineIdSequenceMigrationTest {
+
+    @Autowired
+    private VaccineIdSequenceMigration vaccineIdSequenceMigration;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenAllocationSizeIsConfiguredThenSequenceIncrementsByIt() {
+        // when
+        List<Vaccine> vaccines = vaccineRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Vaccine(null, "Vaccine-" + i, "Brand", 100, 0, VaccineType.PFIZER, null))
+                .collect(Collectors.toList()));
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'VACCINE_SEQ'", Long.class),
+                is(equalTo(20L)));
+        assertThat(vaccines.stream().map(Vaccine::getId).distinct().count(), is(equalTo(25L)));
+    }
+
+    @Test
+    void whenRowsWereInsertedPastTheSequenceThenMigrationMovesItBeyondThem() throws Exception {
+        // given
+        jdbcTemplate.update("INSERT INTO vaccine (id, name, brand, max, quantity, type, version) VALUES (100000, 'Legacy', 'Brand', 100, 0, 'PFIZER', 0)");
+
+        // when
+        vaccineIdSequenceMigration.migrate();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXTVAL('vaccine_seq')", Long.class), is(greaterThan(100000L)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.vaccine.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.service.SiteStockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class SiteControllerTest {
+
+    private static final String SITE_API_URL_PATH = "/api/v1/vaccines/1/sites/1";
+    private static final String SITE_API_SUBPATH_INCREMENT_URL = "/increment";
+    private static final String SITE_API_SUBPATH_DECREMENT_URL = "/decrement";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private SiteStockService siteStockService;
+
+    @InjectMocks
+    private SiteController siteController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(siteController).build();
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementWithZeroOrNegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        for (int quantity : new int[]{0, -50}) {
+            QuantityDTO quantityDTO = QuantityDTO.builder()
+                    .quantity(quantity)
+                    .build();
+
+            mockMvc.perform(patch(SITE_API_URL_PATH + SITE_API_SUBPATH_INCREMENT_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO))).andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(siteStockService);
+    }
+
+    @Test
+    void whenPATCHIsCalledToDecrementWithZeroOrNegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        for (int quantity : new int[]{0, -50}) {
+            QuantityDTO quantityDTO = QuantityDTO.builder()
+                    .quantity(quantity)
+                    .build();
+
+            mockMvc.perform(patch(SITE_API_URL_PATH + SITE_API_SUBPATH_DECREMENT_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO))).andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(siteStockService);
+    }
+
+    private static String asJsonString(Object body) {
+        try {
+            return new ObjectMapper().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,29 +1,65 @@
 package com.vaccine.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vaccine.builder.VaccineDTOBuilder;
 import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockHistoryPointDTO;
+import com.vaccine.dto.StockMovementBatchDTO;
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.StockMovementResultDTO;
 import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineImportErrorDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.dto.VaccineTypeSummaryDTO;
+import com.vaccine.enums.ImportFormat;
+import com.vaccine.enums.RollupResolution;
+import com.vaccine.enums.StockMovementStatus;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineVersionMismatchException;
+import com.vaccine.service.VaccineCatalogue;
+import com.vaccine.service.VaccineImportService;
 import com.vaccine.service.VaccineService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,15 +67,29 @@ public class VaccineControllerTest {
 
     private static final String VACCINE_API_URL_PATH = "/api/v1/vaccines";
     private static final long VALID_VACCINE_ID = 1L;
-    private static final long INVALID_VACCNE_ID = 2L;
+    private static final long INVALID_VACCINE_ID = 2L;
     private static final String VACCINE_API_SUBPATH_INCREMENT_URL = "/increment";
     private static final String VACCINE_API_SUBPATH_DECREMENT_URL = "/decrement";
+    private static final String VACCINE_API_SUBPATH_STOCK_MOVEMENTS_BATCH_URL = "/stock-movements:batch";
+    private static final String VACCINE_API_SUBPATH_EXPORT_URL = "/export";
+    private static final String VACCINE_API_SUBPATH_SUMMARY_URL = "/summary";
+    private static final String VACCINE_API_SUBPATH_HISTORY_URL = "/history";
+    private static final String VACCINE_API_SUBPATH_IMPORT_URL = "/import";
 
     private MockMvc mockMvc;
 
     @Mock
     private VaccineService vaccineService;
 
+    @Mock
+    private VaccineImportService vaccineImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private VaccineCatalogue vaccineCatalogue = new VaccineCatalogue(objectMapper, 16);
+
     @InjectMocks
     private VaccineController vaccineController;
 
@@ -67,7 +117,7 @@ public class VaccineControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name", is(vaccineDTO.getName())))
                 .andExpect(jsonPath("$.brand", is(vaccineDTO.getBrand())))
-                .andExpect(jsonPath("$.type", is(vaccineDTO.getType().toString())));
+                .andExpect(jsonPath("$.classification", is(vaccineDTO.getClassification().toString())));
     }
 
     @Test
@@ -97,7 +147,7 @@ public class VaccineControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(vaccineDTO.getName())))
                 .andExpect(jsonPath("$.brand", is(vaccineDTO.getBrand())))
-                .andExpect(jsonPath("$.type", is(vaccineDTO.getType().toString())));
+                .andExpect(jsonPath("$.classification", is(vaccineDTO.getClassification().toString())));
     }
 
     @Test
@@ -106,7 +156,7 @@ public class VaccineControllerTest {
         VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
 
         //when
-        when(vaccineService.findByName(vaccineDTO.getName())).thenThrow(VaccineNotFoundException.class);
+        when(vaccineService.findByName(vaccineDTO.getName())).thenThrow(VaccineNotFoundExcep.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + "/" + vaccineDTO.getName())
@@ -120,7 +170,7 @@ public class VaccineControllerTest {
         VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
 
         //when
-        when(vaccineService.listAll()).thenReturn(Collections.singletonList(vaccineDTO));
+        when(vaccineService.listAll(any(Pageable.class))).thenReturn(Collections.singletonList(vaccineDTO));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
@@ -128,16 +178,16 @@ public class VaccineControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is(vaccineDTO.getName())))
                 .andExpect(jsonPath("$[0].brand", is(vaccineDTO.getBrand())))
-                .andExpect(jsonPath("$[0].type", is(vaccineDTO.getType().toString())));
+                .andExpect(jsonPath("$[0].classification", is(vaccineDTO.getClassification().toString())));
     }
 
     @Test
     void whenGETListWithoutVaccinesIsCalledThenOkStatusIsReturned() throws Exception {
         // given
-        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().tovaccineDTO();
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
 
         //when
-        when(vaccineService.listAll()).thenReturn(Collections.singletonList(vaccineDTO));
+        when(vaccineService.listAll(any(Pageable.class))).thenReturn(Collections.singletonList(vaccineDTO));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
@@ -145,13 +195,209 @@ public class VaccineControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void whenGETListIsCalledWithCursorThenNextCursorIsReturned() throws Exception {
+        // given
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().id(2L).build().toVaccineDTO();
+
+        //when
+        when(vaccineService.listAfter(VALID_VACCINE_ID, 1)).thenReturn(Collections.singletonList(vaccineDTO));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
+                .param("cursor", String.valueOf(VALID_VACCINE_ID))
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(vaccineDTO.getId())))
+                .andExpect(jsonPath("$[0].name", is(vaccineDTO.getName())));
+    }
+
+    @Test
+    void whenGETListIsCalledWithCurrentETagThenNotModifiedIsReturnedWithoutListingAgain() throws Exception {
+        // given
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+
+        //when
+        when(vaccineService.listAll(any(Pageable.class))).thenReturn(Collections.singletonList(vaccineDTO));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(vaccineService, times(1)).listAll(any(Pageable.class));
+
+        vaccineCatalogue.invalidate();
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(vaccineService, times(2)).listAll(any(Pageable.class));
+    }
+
+    @Test
+    void whenGETListAcceptsGzipThenPreCompressedListingIsReturned() throws Exception {
+        // given
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+
+        //when
+        when(vaccineService.listAll(any(Pageable.class))).thenReturn(Collections.singletonList(vaccineDTO));
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        // then
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            VaccineDTO[] vaccines = objectMapper.readValue(body, VaccineDTO[].class);
+            assertThat(vaccines[0].getName(), is(vaccineDTO.getName()));
+        }
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG), endsWith("-gzip\""));
+    }
+
+    @Test
+    void whenGETIsCalledWithCurrentVersionETagThenNotModifiedIsReturned() throws Exception {
+        // given
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().version(4L).build().toVaccineDTO();
+
+        //when
+        when(vaccineService.findByName(vaccineDTO.getName())).thenReturn(vaccineDTO);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + "/" + vaccineDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + "/" + vaccineDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void whenGETSummaryIsCalledThenTotalsPerTypeAreReturned() throws Exception {
+        // given
+        VaccineTypeSummaryDTO summaryDTO = VaccineTypeSummaryDTO.builder()
+                .type(VaccineType.PFIZER)
+                .vaccines(2)
+                .quantity(30)
+                .capacity(60)
+                .utilisation(0.5)
+                .build();
+
+        //when
+        when(vaccineService.summarize()).thenReturn(Collections.singletonList(summaryDTO));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + VACCINE_API_SUBPATH_SUMMARY_URL)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", is("PFIZER")))
+                .andExpect(jsonPath("$[0].quantity", is(30)))
+                .andExpect(jsonPath("$[0].utilisation", is(0.5)));
+    }
+
+    @Test
+    void whenGETHistoryIsCalledThenStockPointsAreReturned() throws Exception {
+        // given
+        Instant from = Instant.parse("2021-07-01T00:00:00Z");
+        Instant to = Instant.parse("2021-07-02T00:00:00Z");
+        StockHistoryDTO historyDTO = StockHistoryDTO.builder()
+                .id(VALID_VACCINE_ID)
+                .from(from)
+                .to(to)
+                .step(Duration.ofDays(1))
+                .resolution(RollupResolution.DAY)
+                .points(Collections.singletonList(StockHistoryPointDTO.builder()
+                        .timestamp(from)
+                        .quantity(12)
+                        .min(0)
+                        .max(15)
+                        .build()))
+                .build();
+
+        //when
+        when(vaccineService.history(VALID_VACCINE_ID, from, to, Duration.ofDays(1))).thenReturn(historyDTO);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_HISTORY_URL)
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("step", "1d"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution", is("DAY")))
+                .andExpect(jsonPath("$.points[0].quantity", is(12)))
+                .andExpect(jsonPath("$.points[0].max", is(15)));
+    }
+
+    @Test
+    void whenGETHistoryIsCalledWithInvalidStepThenBadRequestStatusIsReturned() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_HISTORY_URL)
+                .param("step", "hourly"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(vaccineService);
+    }
+
+    @Test
+    void whenPOSTImportIsCalledWithCsvThenImportReportIsReturned() throws Exception {
+        // given
+        VaccineImportReportDTO reportDTO = VaccineImportReportDTO.builder()
+                .imported(1)
+                .rejected(1)
+                .errors(Collections.singletonList(VaccineImportErrorDTO.builder()
+                        .line(3)
+                        .name("Pfizer")
+                        .messages(Collections.singletonList("name is already registered"))
+                        .build()))
+                .build();
+
+        //when
+        when(vaccineImportService.importVaccines(any(Reader.class), eq(ImportFormat.CSV))).thenReturn(reportDTO);
+
+        // then
+        mockMvc.perform(post(VACCINE_API_URL_PATH + VACCINE_API_SUBPATH_IMPORT_URL)
+                .contentType("text/csv")
+                .content("name,brand,max,quantity,classification\nModerna,Moderna,30,10,MODERNA\nPfizer,BioNTech,30,10,PFIZER\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].messages[0]", is("name is already registered")));
+    }
+
+    @Test
+    void whenGETExportIsCalledThenVaccinesAreStreamedAsNdjson() throws Exception {
+        // given
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+
+        //when
+        doAnswer(invocation -> {
+            invocation.<Consumer<VaccineDTO>>getArgument(0).accept(vaccineDTO);
+            return null;
+        }).when(vaccineService).exportAll(any());
+
+        // then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(VACCINE_API_URL_PATH + VACCINE_API_SUBPATH_EXPORT_URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(vaccineDTO) + "\n"));
+    }
+
     @Test
     void whenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // given
        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
 
         //when
-        doNothing().when(vaccineService).deleteById(vaccineDTO.getId());
+        doNothing().when(vaccineService).deleteById(vaccineDTO.getId(), null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(VACCINE_API_URL_PATH + "/" + vaccineDTO.getId())
@@ -162,7 +408,7 @@ public class VaccineControllerTest {
     @Test
     void whenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         //when
-        doThrow(VaccineNotFoundException.class).when(vaccineService).deleteById(INVALID_VACCINE_ID);
+        doThrow(VaccineNotFoundExcep.class).when(vaccineService).deleteById(INVALID_VACCINE_ID, null);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.delete(VACCINE_API_URL_PATH + "/" + INVALID_VACCINE_ID)
@@ -179,17 +425,160 @@ public class VaccineControllerTest {
         VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         vaccineDTO.setQuantity(vaccineDTO.getQuantity() + quantityDTO.getQuantity());
 
-        when(vaccineService.increment(VALID_VACCINE_ID, quantityDTO.getQuantity())).thenReturn(vaccineDTO);
+        when(vaccineService.increment(VALID_VACCINE_ID, quantityDTO.getQuantity(), null)).thenReturn(vaccineDTO);
 
         mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_INCREMENT_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(asJsonString(quantityDTO))).andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(vaccineDTO.getName())))
                 .andExpect(jsonPath("$.brand", is(vaccineDTO.getBrand())))
-                .andExpect(jsonPath("$.type", is(vaccineDTO.getType().toString())))
+                .andExpect(jsonPath("$.classification", is(vaccineDTO.getClassification().toString())))
                 .andExpect(jsonPath("$.quantity", is(vaccineDTO.getQuantity())));
     }
 
+    @Test
+    void whenPATCHIsCalledToDecrementThenOKstatusIsReturned() throws Exception {
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(5)
+                .build();
+
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        vaccineDTO.setQuantity(vaccineDTO.getQuantity() - quantityDTO.getQuantity());
+
+        when(vaccineService.decrement(VALID_VACCINE_ID, quantityDTO.getQuantity(), null)).thenReturn(vaccineDTO);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_DECREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(vaccineDTO.getName())))
+                .andExpect(jsonPath("$.quantity", is(vaccineDTO.getQuantity())));
+    }
+
+    @Test
+    void whenPATCHIsCalledWithIfMatchThenVersionIsCheckedAndETagIsReturned() throws Exception {
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(5)
+                .build();
+
+        VaccineDTO vaccineDTO = VaccineDTOBuilder.builder().version(3L).build().toVaccineDTO();
+
+        when(vaccineService.decrement(VALID_VACCINE_ID, quantityDTO.getQuantity(), 2L)).thenReturn(vaccineDTO);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_DECREMENT_URL)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void whenPATCHIsCalledWithStaleIfMatchThenPreconditionFailedStatusIsReturned() throws Exception {
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(5)
+                .build();
+
+        when(vaccineService.decrement(VALID_VACCINE_ID, quantityDTO.getQuantity(), 2L)).thenThrow(VaccineVersionMismatchException.class);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_DECREMENT_URL)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void whenPATCHIsCalledToDecrementLowerThanZeroThenBadRequestStatusIsReturned() throws Exception {
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(60)
+                .build();
+
+        when(vaccineService.decrement(VALID_VACCINE_ID, quantityDTO.getQuantity(), null)).thenThrow(VaccineStockInsufficientException.class);
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_DECREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPUTIsCalledWithAnInvalidVaccineThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        VaccineDTO withoutBrand = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        withoutBrand.setBrand(null);
+        VaccineDTO withoutClassification = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        withoutClassification.setClassification(null);
+        VaccineDTO withoutMax = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        withoutMax.setMax(0);
+
+        // then
+        for (VaccineDTO vaccineDTO : new VaccineDTO[]{withoutBrand, withoutClassification, withoutMax}) {
+            mockMvc.perform(MockMvcRequestBuilders.put(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(vaccineDTO))).andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(vaccineService);
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementWithZeroOrNegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        for (int quantity : new int[]{0, -50}) {
+            QuantityDTO quantityDTO = QuantityDTO.builder()
+                    .quantity(quantity)
+                    .build();
+
+            mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_INCREMENT_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO))).andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(vaccineService);
+    }
+
+    @Test
+    void whenPATCHIsCalledToDecrementWithZeroOrNegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        for (int quantity : new int[]{0, -50}) {
+            QuantityDTO quantityDTO = QuantityDTO.builder()
+                    .quantity(quantity)
+                    .build();
+
+            mockMvc.perform(MockMvcRequestBuilders.patch(VACCINE_API_URL_PATH + "/" + VALID_VACCINE_ID + VACCINE_API_SUBPATH_DECREMENT_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO))).andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(vaccineService);
+    }
+
+    @Test
+    void whenPOSTIsCalledWithStockMovementsThenOkStatusIsReturned() throws Exception {
+        StockMovementBatchDTO stockMovementBatchDTO = StockMovementBatchDTO.builder()
+                .movements(Collections.singletonList(new StockMovementDTO(VALID_VACCINE_ID, 10)))
+                .build();
+
+        StockMovementResultDTO resultDTO = StockMovementResultDTO.builder()
+                .id(VALID_VACCINE_ID)
+                .delta(10)
+                .status(StockMovementStatus.APPLIED)
+                .quantity(25)
+                .build();
+
+        when(vaccineService.applyStockMovements(stockMovementBatchDTO.getMovements())).thenReturn(Collections.singletonList(resultDTO));
+
+        mockMvc.perform(post(VACCINE_API_URL_PATH + VACCINE_API_SUBPATH_STOCK_MOVEMENTS_BATCH_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(stockMovementBatchDTO))).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is((int) VALID_VACCINE_ID)))
+                .andExpect(jsonPath("$[0].status", is(StockMovementStatus.APPLIED.toString())))
+                .andExpect(jsonPath("$[0].quantity", is(25)));
+    }
+
+    private static String asJsonString(Object body) {
+        try {
+            return new ObjectMapper().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 //    @Test
 //    void whenPATCHIsCalledToIncrementGreatherThanMaxThenBadRequestStatusIsReturned() throws Exception {
 //        QuantityDTO quantityDTO = QuantityDTO.builder()
@@ -212,7 +601,7 @@ public class VaccineControllerTest {
 //                .quantity(30)
 //                .build();
 //
-//        when(vaccineService.increment(INVALID_VACCINE_ID, quantityDTO.getQuantity())).thenThrow(VaccineNotFoundException.class);
+//        when(vaccineService.increment(INVALID_VACCINE_ID, quantityDTO.getQuantity())).thenThrow(VaccineNotFoundExcep.class);
 //        mockMvc.perform(patch(VACCINE_API_URL_PATH + "/" + INVALID_VACCINE_ID + VACCINE_API_SUBPATH_INCREMENT_URL)
 //                .contentType(MediaType.APPLICATION_JSON)
 //                .content(asJsonString(quantityDTO)))
@@ -235,7 +624,7 @@ public class VaccineControllerTest {
 //                .content(asJsonString(quantityDTO))).andExpect(status().isOk())
 //                .andExpect(jsonPath("$.name", is(vaccineDTO.getName())))
 //                .andExpect(jsonPath("$.brand", is(vaccineDTO.getBrand())))
-//                .andExpect(jsonPath("$.type", is(vaccineDTO.getType().toString())))
+//                .andExpect(jsonPath("$.classification", is(vaccineDTO.getClassification().toString())))
 //                .andExpect(jsonPath("$.quantity", is(vaccineDTO.getQuantity())));
 //    }
 //
@@ -261,13 +650,9 @@ public class VaccineControllerTest {
 //                .quantity(5)
 //                .build();
 //
-//        when(vaccineService.decrement(INVALID_VACCINE_ID, quantityDTO.getQuantity())).thenThrow(VaccineNotFoundException.class);
+//        when(vaccineService.decrement(INVALID_VACCINE_ID, quantityDTO.getQuantity())).thenThrow(VaccineNotFoundExcep.class);
 //                .contentType(MediaType.APPLICATION_JSON)
 //                .content(asJsonString(quantityDTO)))
 //                .andExpect(status().isNotFound());
 //    }
 }
-
-
-
-}
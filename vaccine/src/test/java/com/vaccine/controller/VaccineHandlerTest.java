@@ -0,0 +1,133 @@
+package com.vaccine.controller;
+
+import com.vaccine.dto.QuantityDTO;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class VaccineHandlerTest {
+
+    private static final String VACCINE_API_URL_PATH = "/api/v1/vaccines";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenVaccineIsCreatedWithASequenceId() {
+        VaccineDTO vaccineDTO = VaccineDTO.builder()
+                .name("Coronavac")
+                .brand("Sinovac")
+                .max(30)
+                .quantity(15)
+                .classification(VaccineType.JANSSEN)
+                .build();
+
+        webTestClient.post().uri(VACCINE_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(vaccineDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.version").isEqualTo(0);
+
+        webTestClient.post().uri(VACCINE_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(vaccineDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenDELETEIsCalledThenVaccineIsNoLongerFound() {
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 30, 15, VaccineType.PFIZER, null));
+
+        webTestClient.delete().uri(VACCINE_API_URL_PATH + "/" + vaccine.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "/" + vaccine.getName())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenGETIsCalledWithoutRegisteredNameThenNotFoundStatusIsReturned() {
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "/Unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementThenStockIsIncremented() {
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 30, 15, VaccineType.MODERNA, null));
+
+        webTestClient.patch().uri(VACCINE_API_URL_PATH + "/" + vaccine.getId() + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new QuantityDTO(10))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantity").isEqualTo(25.0);
+
+        webTestClient.patch().uri(VACCINE_API_URL_PATH + "/" + vaccine.getId() + "/decrement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new QuantityDTO(30))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenGETListIsCalledWithNdjsonThenVaccinesAreStreamed() {
+        vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 30, 15, VaccineType.PFIZER, null));
+        vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 30, 15, VaccineType.JANSSEN, null));
+
+        StepVerifier.create(webTestClient.get().uri(VACCINE_API_URL_PATH)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(VaccineDTO.class)
+                        .getResponseBody()
+                        .map(VaccineDTO::getName))
+                .expectNext("Pfizer", "Janssen")
+                .verifyComplete();
+    }
+
+    @Test
+    void whenGETListIsCalledWithANonNumericPageOrSizeThenBadRequestStatusIsReturned() {
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "?page=first")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "?size=ten")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "?cursor=last&size=10")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(VACCINE_API_URL_PATH + "?size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,209 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.SiteDTO;
+import com.vaccine.dto.SiteStockDTO;
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.VaccineSiteStockDTO;
+import com.vaccine.entity.SiteStock;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementStatus;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.InvalidTransferException;
+import com.vaccine.exception.SiteStockExceedException;
+import com.vaccine.exception.SiteStockInsufficientException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.repository.SiteRepository;
+import com.vaccine.repository.SiteStockRepository;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class SiteStockServiceTest {
+
+    private static final int SITES = 200;
+    private static final int DOSES_PER_SITE = 100;
+    private static final int THREADS = 32;
+    private static final int TRANSFERS = 4000;
+
+    @Autowired
+    private SiteStockService siteStockService;
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private SiteStockRepository siteStockRepository;
+
+    @AfterEach
+    void tearDown() {
+        siteStockRepository.deleteAllInBatch();
+        siteRepository.deleteAllInBatch();
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenDosesAreReceivedAndIssuedAtSitesThenGlobalTotalsFollow() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 1000, 100, VaccineType.PFIZER, null));
+        Long north = siteWithCapacity(vaccine, "North", 50);
+        Long south = siteWithCapacity(vaccine, "South", 80);
+
+        // when
+        siteStockService.increment(vaccine.getId(), north, 30);
+        siteStockService.increment(vaccine.getId(), south, 40);
+        SiteStockDTO northStock = siteStockService.decrement(vaccine.getId(), north, 10);
+
+        // then
+        assertThat(northStock.getQuantity(), is(equalTo(20)));
+        VaccineSiteStockDTO stock = siteStockService.listStock(vaccine.getId());
+        assertThat(stock.getQuantity(), is(equalTo(160)));
+        assertThat(stock.getSiteQuantity(), is(equalTo(60)));
+        assertThat(stock.getUnassignedQuantity(), is(equalTo(100)));
+        assertThat(stock.getSites().get(1).getSiteName(), is(equalTo("South")));
+        assertThat(vaccineService.findByName("Pfizer").getQuantity(), is(equalTo(160.0)));
+        assertThrows(SiteStockExceedException.class, () -> siteStockService.increment(vaccine.getId(), north, 31));
+        assertThat(siteStockService.listStock(vaccine.getId()).getQuantity(), is(equalTo(160)));
+    }
+
+    @Test
+    void whenTransferCannotCompleteThenNeitherSiteChanges() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        Long east = siteWithCapacity(vaccine, "East", 100);
+        Long west = siteWithCapacity(vaccine, "West", 40);
+        siteStockService.increment(vaccine.getId(), east, 60);
+        siteStockService.increment(vaccine.getId(), west, 30);
+
+        // when
+        assertThrows(SiteStockExceedException.class, () -> siteStockService.transfer(vaccine.getId(), east, west, 20));
+        assertThrows(SiteStockInsufficientException.class, () -> siteStockService.transfer(vaccine.getId(), west, east, 31));
+        assertThrows(InvalidTransferException.class, () -> siteStockService.transfer(vaccine.getId(), east, east, 1));
+        List<SiteStockDTO> transferred = siteStockService.transfer(vaccine.getId(), west, east, 30);
+
+        // then
+        assertThat(transferred.get(0).getQuantity(), is(equalTo(0)));
+        assertThat(transferred.get(1).getQuantity(), is(equalTo(90)));
+        VaccineSiteStockDTO stock = siteStockService.listStock(vaccine.getId());
+        assertThat(stock.getQuantity(), is(equalTo(90)));
+        assertThat(stock.getSiteQuantity(), is(equalTo(90)));
+    }
+
+    @Test
+    void whenVaccineStockIsDecrementedThenDosesHeldAtSitesAreNotTaken() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 1000, 100, VaccineType.JANSSEN, null));
+        Long site = siteWithCapacity(vaccine, "Central", 50);
+        siteStockService.increment(vaccine.getId(), site, 30);
+
+        // when
+        vaccineService.decrement(vaccine.getId(), 100);
+
+        // then
+        assertThrows(VaccineStockInsufficientException.class, () -> vaccineService.decrement(vaccine.getId(), 1));
+        assertThat(vaccineService.applyStockMovements(Collections.singletonList(new StockMovementDTO(vaccine.getId(), -1)))
+                .get(0).getStatus(), is(equalTo(StockMovementStatus.INSUFFICIENT)));
+        VaccineSiteStockDTO stock = siteStockService.listStock(vaccine.getId());
+        assertThat(stock.getQuantity(), is(equalTo(30)));
+        assertThat(stock.getUnassignedQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenManyTransfersRunInParallelAcrossSitesThenNoDoseIsLostOrCreated() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Comirnaty", "BioNTech", SITES * DOSES_PER_SITE, 0, VaccineType.PFIZER, null));
+        List<Long> sites = new ArrayList<>();
+        for (int i = 0; i < SITES; i++) {
+            Long site = siteWithCapacity(vaccine, "Site-" + i, DOSES_PER_SITE * 2);
+            siteStockService.increment(vaccine.getId(), site, DOSES_PER_SITE);
+            sites.add(site);
+        }
+
+        // when
+        List<Callable<Void>> transfers = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            transfers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(SITES);
+                int to = (from + 1 + random.nextInt(SITES - 1)) % SITES;
+                try {
+                    siteStockService.transfer(vaccine.getId(), sites.get(from), sites.get(to), 1 + random.nextInt(DOSES_PER_SITE));
+                } catch (SiteStockInsufficientException | SiteStockExceedException e) {
+                    // rejected transfers leave both sites untouched
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(transfers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // then
+        List<SiteStock> siteStocks = siteStockRepository.findByVaccineIdOrderBySiteIdAsc(vaccine.getId());
+        assertThat(siteStocks.stream().mapToInt(SiteStock::getQuantity).sum(), is(equalTo(SITES * DOSES_PER_SITE)));
+        Vaccine stored = vaccineRepository.findById(vaccine.getId()).get();
+        assertThat(stored.getQuantity(), is(equalTo(SITES * DOSES_PER_SITE)));
+        assertThat(stored.getSiteQuantity(), is(equalTo(SITES * DOSES_PER_SITE)));
+    }
+
+    @Test
+    void whenCapacityIsSetConcurrentlyForANewSiteThenOneStockRowIsCreated() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Spikevax", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        Long site = siteStockService.createSite(SiteDTO.builder().name("Harbour").build()).getId();
+
+        // when
+        List<Callable<SiteStockDTO>> capacities = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int max = 10 + i;
+            capacities.add(() -> siteStockService.setCapacity(vaccine.getId(), site, max));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<SiteStockDTO> future : executor.invokeAll(capacities)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // then
+        assertThat(siteStockRepository.findByVaccineIdOrderBySiteIdAsc(vaccine.getId()).size(), is(equalTo(1)));
+    }
+
+    private Long siteWithCapacity(Vaccine vaccine, String name, int max) throws Exception {
+        SiteDTO site = siteStockService.createSite(SiteDTO.builder().name(name).build());
+        siteStockService.setCapacity(vaccine.getId(), site.getId(), max);
+        return site.getId();
+    }
+}
@@ -0,0 +1,164 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.StockHistoryDTO;
+import com.vaccine.dto.StockHistoryPointDTO;
+import com.vaccine.entity.StockLedgerEntry;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.RollupResolution;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.InvalidHistoryRangeException;
+import com.vaccine.repository.StockLedgerRepository;
+import com.vaccine.repository.StockRollupRepository;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "vaccine.history.rollup-interval-ms=3600000"
+})
+public class StockHistoryTest {
+
+    @Autowired
+    private StockHistory stockHistory;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Autowired
+    private StockRollupRepository stockRollupRepository;
+
+    private Instant dayStart;
+    private Long vaccineId;
+
+    @BeforeEach
+    void setUp() {
+        dayStart = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(2, ChronoUnit.DAYS);
+        vaccineId = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 1000, 0, VaccineType.PFIZER, null)).getId();
+        stockLedgerRepository.saveAll(List.of(
+                movement(Duration.ofHours(10), 5),
+                movement(Duration.ofMinutes(10 * 60 + 30), 10),
+                movement(Duration.ofMinutes(11 * 60 + 15), -3),
+                movement(Duration.ofHours(24 + 9), 20)));
+        stockHistory.rollUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRollupRepository.deleteAll();
+        stockLedgerRepository.deleteAll();
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenStepIsHourlyThenHourRollupsAreServed() throws Exception {
+        // when
+        StockHistoryDTO history = stockHistory.history(vaccineId, dayStart, dayStart.plus(2, ChronoUnit.DAYS), Duration.ofHours(1));
+
+        // then
+        assertThat(history.getResolution(), is(equalTo(RollupResolution.HOUR)));
+        assertThat(history.getPoints(), hasSize(48));
+        assertPoint(history.getPoints().get(9), 0, 0, 0);
+        assertPoint(history.getPoints().get(10), 15, 0, 15);
+        assertPoint(history.getPoints().get(11), 12, 12, 15);
+        assertPoint(history.getPoints().get(33), 32, 12, 32);
+        assertPoint(history.getPoints().get(47), 32, 32, 32);
+    }
+
+    @Test
+    void whenStepIsDailyThenDayRollupsAreServed() throws Exception {
+        // when
+        StockHistoryDTO history = stockHistory.history(vaccineId, dayStart, dayStart.plus(2, ChronoUnit.DAYS), Duration.ofDays(1));
+
+        // then
+        assertThat(history.getResolution(), is(equalTo(RollupResolution.DAY)));
+        assertThat(history.getPoints(), hasSize(2));
+        assertPoint(history.getPoints().get(0), 12, 0, 15);
+        assertPoint(history.getPoints().get(1), 32, 12, 32);
+    }
+
+    @Test
+    void whenStepIsFewMinutesThenMinuteRollupsAreDownsampled() throws Exception {
+        // when
+        StockHistoryDTO history = stockHistory.history(vaccineId, dayStart, dayStart.plus(1, ChronoUnit.DAYS), Duration.ofMinutes(15));
+
+        // then
+        assertThat(history.getResolution(), is(equalTo(RollupResolution.MINUTE)));
+        assertThat(history.getPoints(), hasSize(96));
+        assertPoint(history.getPoints().get(40), 5, 0, 5);
+        assertPoint(history.getPoints().get(42), 15, 5, 15);
+        assertPoint(history.getPoints().get(45), 12, 12, 15);
+    }
+
+    @Test
+    void whenNewMovementsArriveThenRollUpContinuesFromTheLatestBuckets() throws Exception {
+        // given
+        stockLedgerRepository.save(movement(Duration.ofMinutes(24 * 60 + 9 * 60 + 30), 1));
+
+        // when
+        stockHistory.rollUp();
+
+        // then
+        StockHistoryDTO history = stockHistory.history(vaccineId, dayStart, dayStart.plus(2, ChronoUnit.DAYS), Duration.ofDays(1));
+        assertPoint(history.getPoints().get(1), 33, 12, 33);
+        assertThat(stockRollupRepository.count(), is(equalTo(5L + 3L + 2L)));
+    }
+
+    @Test
+    void whenVaccineWasIdleLongerThanMinuteRetentionThenHistoryOpensFromCoarserRollups() throws Exception {
+        // given
+        Long idleVaccineId = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 1000, 0, VaccineType.JANSSEN, null)).getId();
+        stockLedgerRepository.save(new StockLedgerEntry(null, idleVaccineId, 500, StockMovementReason.BATCH,
+                Instant.now().minus(9, ChronoUnit.DAYS)));
+        stockHistory.rollUp();
+        stockHistory.pruneMinutes();
+        Instant to = Instant.now();
+
+        // when
+        StockHistoryDTO minutes = stockHistory.history(idleVaccineId, to.minus(2, ChronoUnit.HOURS), to, Duration.ofMinutes(5));
+        StockHistoryDTO hours = stockHistory.history(idleVaccineId, to.minus(2, ChronoUnit.HOURS), to, Duration.ofHours(1));
+
+        // then
+        assertThat(minutes.getResolution(), is(equalTo(RollupResolution.MINUTE)));
+        assertPoint(minutes.getPoints().get(0), 500, 500, 500);
+        assertPoint(minutes.getPoints().get(minutes.getPoints().size() - 1), 500, 500, 500);
+        assertPoint(hours.getPoints().get(0), 500, 500, 500);
+    }
+
+    @Test
+    void whenStepIsBelowOneMinuteOrRangeIsTooLargeThenHistoryIsRejected() {
+        assertThrows(InvalidHistoryRangeException.class,
+                () -> stockHistory.history(vaccineId, dayStart, dayStart.plus(1, ChronoUnit.HOURS), Duration.ofSeconds(30)));
+        assertThrows(InvalidHistoryRangeException.class,
+                () -> stockHistory.history(vaccineId, dayStart, dayStart.minus(1, ChronoUnit.HOURS), Duration.ofMinutes(1)));
+        assertThrows(InvalidHistoryRangeException.class,
+                () -> stockHistory.history(vaccineId, dayStart, dayStart.plus(365, ChronoUnit.DAYS), Duration.ofMinutes(1)));
+    }
+
+    private StockLedgerEntry movement(Duration sinceDayStart, int delta) {
+        return new StockLedgerEntry(null, vaccineId, delta, StockMovementReason.BATCH, dayStart.plus(sinceDayStart));
+    }
+
+    private static void assertPoint(StockHistoryPointDTO point, long quantity, long min, long max) {
+        assertThat(point.getQuantity(), is(equalTo(quantity)));
+        assertThat(point.getMin(), is(equalTo(min)));
+        assertThat(point.getMax(), is(equalTo(max)));
+    }
+}
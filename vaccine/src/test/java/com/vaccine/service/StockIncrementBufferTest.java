@@ -0,0 +1,171 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "vaccine.stock.write-behind.enabled=true",
+        "vaccine.stock.write-behind.flush-interval-ms=3600000",
+        "vaccine.stock.write-behind.flush-threshold=500"
+})
+public class StockIncrementBufferTest {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS = 2000;
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private StockIncrementBuffer stockIncrementBuffer;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        stockIncrementBuffer.flush();
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenIncrementIsBufferedThenItIsWrittenOnFlush() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 100, 10, VaccineType.PFIZER, null));
+
+        // when
+        VaccineDTO incrementedVaccineDTO = vaccineService.increment(vaccine.getId(), 5);
+
+        // then
+        assertThat(incrementedVaccineDTO.getQuantity(), is(equalTo(15.0)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(10)));
+
+        assertThat(vaccineService.findByName("Pfizer").getQuantity(), is(equalTo(10.0)));
+
+        stockIncrementBuffer.flush();
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(15)));
+        assertThat(vaccineService.findByName("Pfizer").getQuantity(), is(equalTo(15.0)));
+    }
+
+    @Test
+    void whenStockChangesOutsideTheBufferThenAdmissionUsesTheStoredQuantity() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Spikevax", "Moderna", 20, 10, VaccineType.MODERNA, null));
+        vaccineService.increment(vaccine.getId(), 5);
+
+        // when
+        vaccineService.decrement(vaccine.getId(), 4);
+        VaccineDTO incrementedVaccineDTO = vaccineService.increment(vaccine.getId(), 9);
+
+        // then
+        assertThat(incrementedVaccineDTO.getQuantity(), is(equalTo(20.0)));
+        assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(vaccine.getId(), 1));
+
+        stockIncrementBuffer.flush();
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(20)));
+        assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(vaccine.getId(), 1));
+    }
+
+    @Test
+    void whenIncrementsAreBufferedThenAdmissionReadsTheSnapshotInsteadOfTheRow() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Comirnaty", "BioNTech", 20, 10, VaccineType.PFIZER, null));
+        vaccineService.increment(vaccine.getId(), 1);
+
+        // when
+        jdbcTemplate.update("UPDATE vaccine SET quantity = 19 WHERE id = ?", vaccine.getId());
+        VaccineDTO incrementedVaccineDTO = vaccineService.increment(vaccine.getId(), 5);
+
+        // then
+        assertThat(incrementedVaccineDTO.getQuantity(), is(equalTo(16.0)));
+        stockIncrementBuffer.flush();
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(19)));
+        assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(vaccine.getId(), 5));
+    }
+
+    @Test
+    void whenBufferedIncrementIsNotPositiveThenItIsRejected() {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Vaxzevria", "AstraZeneca", 100, 10, VaccineType.ASTRAZENECA, null));
+
+        // then
+        assertThrows(IllegalArgumentException.class, () -> stockIncrementBuffer.increment(vaccine.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () -> stockIncrementBuffer.increment(vaccine.getId(), -5));
+        stockIncrementBuffer.flush();
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(10)));
+    }
+
+    @Test
+    void whenBufferedIncrementsExceedMaxThenTheyAreRejected() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 20, 10, VaccineType.MODERNA, null));
+
+        // when
+        vaccineService.increment(vaccine.getId(), 8);
+
+        // then
+        assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(vaccine.getId(), 3));
+        assertThrows(VaccineNotFoundExcep.class, () -> vaccineService.increment(vaccine.getId() + 1, 3));
+    }
+
+    @Test
+    void whenManyIncrementsAreBufferedInParallelThenAllAreFlushed() throws Exception {
+        // given
+        int max = INCREMENTS / 2;
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", max, 0, VaccineType.JANSSEN, null));
+        AtomicInteger exceeded = new AtomicInteger();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < INCREMENTS; i++) {
+                tasks.add(() -> {
+                    try {
+                        vaccineService.increment(vaccine.getId(), 1);
+                    } catch (VaccineStockExceedException e) {
+                        exceeded.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        stockIncrementBuffer.flush();
+
+        // then
+        assertThat(exceeded.get(), is(equalTo(INCREMENTS - max)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(max)));
+    }
+}
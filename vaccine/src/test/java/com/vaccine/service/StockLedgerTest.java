@@ -0,0 +1,117 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.entity.StockLedgerEntry;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementReason;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.repository.StockLedgerRepository;
+import com.vaccine.repository.StockSnapshotRepository;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = {
+        "vaccine.ledger.settle-window=0s",
+        "vaccine.ledger.compaction-interval-ms=3600000"
+})
+public class StockLedgerTest {
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+        stockLedgerRepository.deleteAll();
+        stockSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    void whenStockChangesThroughTheServiceThenEveryMovementIsAppendedToTheLedger() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 100, 0, VaccineType.PFIZER, null));
+
+        // when
+        vaccineService.increment(vaccine.getId(), 30);
+        vaccineService.decrement(vaccine.getId(), 5);
+        vaccineService.applyStockMovements(List.of(new StockMovementDTO(vaccine.getId(), 12)));
+
+        // then
+        List<StockLedgerEntry> entries = stockLedgerRepository.findAll().stream()
+                .filter(entry -> entry.getVaccineId().equals(vaccine.getId()))
+                .collect(Collectors.toList());
+        assertThat(entries.stream().map(StockLedgerEntry::getReason).collect(Collectors.toList()),
+                contains(StockMovementReason.INCREMENT, StockMovementReason.DECREMENT, StockMovementReason.BATCH));
+        assertThat(entries.stream().map(StockLedgerEntry::getDelta).collect(Collectors.toList()), contains(30, -5, 12));
+        assertThat(stockLedger.quantityOf(vaccine.getId()), is(equalTo(37L)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(37)));
+    }
+
+    @Test
+    void whenBatchMovementsAreRolledBackThenNothingIsAppendedToTheLedger() {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 100, 0, VaccineType.JANSSEN, null));
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            vaccineService.applyStockMovements(List.of(new StockMovementDTO(vaccine.getId(), 12)));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(stockLedger.quantityOf(vaccine.getId()), is(equalTo(0L)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenLedgerIsCompactedThenQuantityIsSnapshotPlusTail() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        for (int i = 0; i < 20; i++) {
+            vaccineService.increment(vaccine.getId(), 10);
+        }
+
+        // when
+        stockLedger.compact();
+        vaccineService.decrement(vaccine.getId(), 50);
+        vaccineService.increment(vaccine.getId(), 7);
+
+        // then
+        assertThat(stockSnapshotRepository.findFirstByVaccineIdOrderByLastEntryIdDesc(vaccine.getId()).get().getQuantity(), is(equalTo(200L)));
+        assertThat(stockLedger.quantityOf(vaccine.getId()), is(equalTo(157L)));
+
+        stockLedger.compact();
+        assertThat(stockSnapshotRepository.findFirstByVaccineIdOrderByLastEntryIdDesc(vaccine.getId()).get().getQuantity(), is(equalTo(157L)));
+        assertThat(stockSnapshotRepository.count(), is(equalTo(2L)));
+        assertThat(stockLedgerRepository.count(), is(equalTo(22L)));
+        assertThat(stockLedger.quantityOf(vaccine.getId()), is(equalTo(157L)));
+    }
+}
@@ -0,0 +1,259 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.LotAllocationDTO;
+import com.vaccine.dto.StockLotDTO;
+import com.vaccine.entity.StockLot;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.LotStatus;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.LotAlreadyRegException;
+import com.vaccine.exception.LotStockInsufficientException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.repository.StockLotRepository;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"vaccine.lots.allocation-batch-size=10", "vaccine.lots.sweep-batch-size=10"})
+public class StockLotServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+    private static final int LOTS = 2000;
+    private static final int DOSES_PER_LOT = 5;
+    private static final int THREADS = 4;
+    private static final int DISPENSES = 40;
+    private static final int DOSES_PER_DISPENSE = 200;
+
+    @Autowired
+    private StockLotService stockLotService;
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private StockLotRepository stockLotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        stockLotRepository.deleteAllInBatch();
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenDosesAreDispensedThenEarliestExpiringLotsAreUsedFirst() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 1000, 10, VaccineType.PFIZER, null));
+        receive(vaccine, "LATE", TODAY.plusDays(90), 50);
+        receive(vaccine, "EARLY", TODAY.plusDays(10), 20);
+        receive(vaccine, "MIDDLE", TODAY.plusDays(30), 40);
+
+        // when
+        List<LotAllocationDTO> allocations = stockLotService.dispense(vaccine.getId(), 45);
+
+        // then
+        assertThat(allocations.stream().map(LotAllocationDTO::getLotNumber).collect(Collectors.toList()), contains("EARLY", "MIDDLE"));
+        assertThat(allocations.stream().map(LotAllocationDTO::getQuantity).collect(Collectors.toList()), contains(20, 25));
+        List<StockLotDTO> available = stockLotService.listAvailable(vaccine.getId());
+        assertThat(available.stream().map(StockLotDTO::getLotNumber).collect(Collectors.toList()), contains("MIDDLE", "LATE"));
+        assertThat(available.get(0).getQuantity(), is(equalTo(15)));
+        Vaccine stored = vaccineRepository.findById(vaccine.getId()).get();
+        assertThat(stored.getQuantity(), is(equalTo(75)));
+        assertThat(stored.getLotQuantity(), is(equalTo(65)));
+        assertThat(vaccineService.findByName("Pfizer").getQuantity(), is(equalTo(75.0)));
+    }
+
+    @Test
+    void whenUnexpiredLotsCannotCoverTheRequestThenNothingIsDispensed() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        receive(vaccine, "EXPIRED", TODAY.minusDays(1), 100);
+        for (int i = 0; i < 25; i++) {
+            receive(vaccine, "LOT-" + i, TODAY.plusDays(i), 2);
+        }
+
+        // when
+        assertThrows(LotStockInsufficientException.class, () -> stockLotService.dispense(vaccine.getId(), 51));
+        assertThrows(VaccineStockInsufficientException.class, () -> vaccineService.decrement(vaccine.getId(), 1));
+        List<LotAllocationDTO> allocations = stockLotService.dispense(vaccine.getId(), 50);
+
+        // then
+        assertThat(allocations.size(), is(equalTo(25)));
+        assertThat(stockLotRepository.findByVaccineIdAndLotNumber(vaccine.getId(), "EXPIRED").get().getQuantity(), is(equalTo(100)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getLotQuantity(), is(equalTo(100)));
+    }
+
+    @Test
+    void whenExpiredLotsAreSweptThenTheyAreQuarantinedInBatchesAndLeaveTheStock() throws Exception {
+        // given
+        Vaccine janssen = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 1000, 5, VaccineType.JANSSEN, null));
+        Vaccine moderna = vaccineRepository.save(new Vaccine(null, "Spikevax", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        for (int i = 0; i < 15; i++) {
+            receive(janssen, "OLD-" + i, TODAY.minusDays(1 + i), 10);
+            receive(moderna, "OLD-" + i, TODAY.minusDays(1 + i), 4);
+        }
+        receive(janssen, "FRESH", TODAY, 10);
+
+        // when
+        stockLotService.sweepExpired();
+
+        // then
+        assertThat(stockLotRepository.findAll().stream().filter(lot -> lot.getStatus() == LotStatus.QUARANTINED).count(), is(equalTo(30L)));
+        assertThat(stockLotService.listAvailable(janssen.getId()).stream().map(StockLotDTO::getLotNumber).collect(Collectors.toList()),
+                contains("FRESH"));
+        Vaccine storedJanssen = vaccineRepository.findById(janssen.getId()).get();
+        assertThat(storedJanssen.getQuantity(), is(equalTo(15)));
+        assertThat(storedJanssen.getLotQuantity(), is(equalTo(10)));
+        assertThat(vaccineRepository.findById(moderna.getId()).get().getQuantity(), is(equalTo(0)));
+        assertThat(stockLotService.dispense(janssen.getId(), 10).get(0).getLotNumber(), is(equalTo("FRESH")));
+    }
+
+    @Test
+    void whenLotQuantityNoLongerCoversExpiredLotsThenTheirVaccineIsSkipped() throws Exception {
+        // given
+        Vaccine janssen = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 1000, 0, VaccineType.JANSSEN, null));
+        Vaccine moderna = vaccineRepository.save(new Vaccine(null, "Spikevax", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        receive(janssen, "OLD", TODAY.minusDays(1), 10);
+        receive(moderna, "OLD", TODAY.minusDays(1), 4);
+        jdbcTemplate.update("UPDATE vaccine SET lot_quantity = 5 WHERE id = ?", janssen.getId());
+
+        // when
+        stockLotService.sweepExpired();
+
+        // then
+        assertThat(stockLotRepository.findByVaccineIdAndLotNumber(janssen.getId(), "OLD").get().getStatus(), is(equalTo(LotStatus.AVAILABLE)));
+        assertThat(vaccineRepository.findById(janssen.getId()).get().getQuantity(), is(equalTo(10)));
+        assertThat(stockLotRepository.findByVaccineIdAndLotNumber(moderna.getId(), "OLD").get().getStatus(), is(equalTo(LotStatus.QUARANTINED)));
+        assertThat(vaccineRepository.findById(moderna.getId()).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenASkippedLotPrecedesAFullBatchThenTheSweepPagesPastIt() throws Exception {
+        // given
+        Vaccine janssen = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 1000, 0, VaccineType.JANSSEN, null));
+        Vaccine moderna = vaccineRepository.save(new Vaccine(null, "Spikevax", "Moderna", 1000, 0, VaccineType.MODERNA, null));
+        receive(janssen, "OLDEST", TODAY.minusDays(3), 10);
+        for (int i = 0; i < 10; i++) {
+            receive(moderna, "OLD-" + i, TODAY.minusDays(2), 4);
+        }
+        jdbcTemplate.update("UPDATE vaccine SET lot_quantity = 5 WHERE id = ?", janssen.getId());
+
+        // when
+        stockLotService.sweepExpired();
+
+        // then
+        assertThat(stockLotRepository.findByVaccineIdAndLotNumber(janssen.getId(), "OLDEST").get().getStatus(), is(equalTo(LotStatus.AVAILABLE)));
+        for (int i = 0; i < 10; i++) {
+            assertThat(stockLotRepository.findByVaccineIdAndLotNumber(moderna.getId(), "OLD-" + i).get().getStatus(), is(equalTo(LotStatus.QUARANTINED)));
+        }
+        assertThat(vaccineRepository.findById(moderna.getId()).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenTheSameLotIsReceivedConcurrentlyThenOnlyOneIsRegistered() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 1000, 0, VaccineType.PFIZER, null));
+
+        // when
+        List<Callable<Void>> receipts = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            receipts.add(() -> {
+                receive(vaccine, "DUPLICATE", TODAY.plusDays(30), 10);
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int rejected = 0;
+        try {
+            for (Future<Void> future : executor.invokeAll(receipts)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause(), is(instanceOf(LotAlreadyRegException.class)));
+                    rejected++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // then
+        assertThat(rejected, is(equalTo(THREADS * 2 - 1)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getLotQuantity(), is(equalTo(10)));
+    }
+
+    @Test
+    void whenACampaignDispensesAcrossThousandsOfLotsInParallelThenEveryDoseIsCountedOnce() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Comirnaty", "BioNTech", LOTS * DOSES_PER_LOT, 0, VaccineType.PFIZER, null));
+        for (int i = 0; i < LOTS; i++) {
+            receive(vaccine, "LOT-" + i, TODAY.plusDays(1 + i % 365), DOSES_PER_LOT);
+        }
+
+        // when
+        List<Callable<List<LotAllocationDTO>>> dispenses = new ArrayList<>();
+        for (int i = 0; i < DISPENSES; i++) {
+            dispenses.add(() -> stockLotService.dispense(vaccine.getId(), DOSES_PER_DISPENSE));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<LotAllocationDTO> allocations = new ArrayList<>();
+        try {
+            for (Future<List<LotAllocationDTO>> future : executor.invokeAll(dispenses)) {
+                allocations.addAll(future.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // then
+        int dispensed = DISPENSES * DOSES_PER_DISPENSE;
+        assertThat(allocations.stream().mapToInt(LotAllocationDTO::getQuantity).sum(), is(equalTo(dispensed)));
+        List<StockLot> lots = stockLotRepository.findAll();
+        assertThat(lots.stream().mapToInt(StockLot::getQuantity).sum(), is(equalTo(LOTS * DOSES_PER_LOT - dispensed)));
+        assertThat(lots.stream().filter(lot -> lot.getStatus() == LotStatus.DEPLETED).count(), is(equalTo((long) dispensed / DOSES_PER_LOT)));
+        LocalDate latestDepleted = lots.stream().filter(lot -> lot.getStatus() == LotStatus.DEPLETED)
+                .map(StockLot::getExpiryDate).max(LocalDate::compareTo).get();
+        assertThat(lots.stream().filter(lot -> lot.getStatus() == LotStatus.AVAILABLE)
+                .noneMatch(lot -> lot.getExpiryDate().isBefore(latestDepleted)), is(true));
+        Vaccine stored = vaccineRepository.findById(vaccine.getId()).get();
+        assertThat(stored.getQuantity(), is(equalTo(LOTS * DOSES_PER_LOT - dispensed)));
+        assertThat(stored.getLotQuantity(), is(equalTo(LOTS * DOSES_PER_LOT - dispensed)));
+    }
+
+    private void receive(Vaccine vaccine, String lotNumber, LocalDate expiryDate, int quantity) throws Exception {
+        stockLotService.receive(vaccine.getId(), StockLotDTO.builder()
+                .lotNumber(lotNumber)
+                .expiryDate(expiryDate)
+                .quantity(quantity)
+                .build());
+    }
+}
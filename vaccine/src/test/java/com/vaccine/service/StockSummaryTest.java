@@ -0,0 +1,118 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.dto.VaccineTypeSummaryDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+public class StockSummaryTest {
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private StockSummary stockSummary;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        vaccineRepository.deleteAll();
+        stockSummary.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenStockChangesThroughTheServiceThenSummaryFollowsWithoutReadingTheCatalogue() throws Exception {
+        // given
+        Vaccine pfizer = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 100, 10, VaccineType.PFIZER, null));
+        Vaccine comirnaty = vaccineRepository.save(new Vaccine(null, "Comirnaty", "BioNTech", 100, 20, VaccineType.PFIZER, null));
+        stockSummary.reconcile();
+
+        // when
+        vaccineService.increment(pfizer.getId(), 30);
+        vaccineService.decrement(comirnaty.getId(), 5);
+        vaccineService.updateVaccine(comirnaty.getId(), VaccineDTO.builder()
+                .brand("BioNTech")
+                .max(300)
+                .classification(VaccineType.PFIZER)
+                .build(), null);
+
+        // then
+        VaccineTypeSummaryDTO pfizerSummary = summaryOf(VaccineType.PFIZER);
+        assertThat(pfizerSummary.getVaccines(), is(equalTo(2L)));
+        assertThat(pfizerSummary.getQuantity(), is(equalTo(55L)));
+        assertThat(pfizerSummary.getCapacity(), is(equalTo(400L)));
+        assertThat(pfizerSummary.getUtilisation(), is(closeTo(55.0 / 400, 1e-9)));
+
+        vaccineService.deleteById(pfizer.getId());
+        assertThat(summaryOf(VaccineType.PFIZER).getQuantity(), is(equalTo(15L)));
+        assertThat(summaryOf(VaccineType.PFIZER).getVaccines(), is(equalTo(1L)));
+    }
+
+    @Test
+    void whenCountersDriftFromTheDatabaseThenReconcileResetsThem() {
+        // given
+        vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", 50, 40, VaccineType.JANSSEN, null));
+        assertThat(summaryOf(VaccineType.JANSSEN).getQuantity(), is(equalTo(0L)));
+
+        // when
+        stockSummary.reconcile();
+
+        // then
+        VaccineTypeSummaryDTO janssenSummary = summaryOf(VaccineType.JANSSEN);
+        assertThat(janssenSummary.getVaccines(), is(equalTo(1L)));
+        assertThat(janssenSummary.getQuantity(), is(equalTo(40L)));
+        assertThat(janssenSummary.getCapacity(), is(equalTo(50L)));
+        assertThat(summaryOf(VaccineType.MODERNA).getVaccines(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenBatchMovementsAreRolledBackThenSummaryIsUnchanged() {
+        // given
+        Vaccine moderna = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", 100, 10, VaccineType.MODERNA, null));
+        stockSummary.reconcile();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            vaccineService.applyStockMovements(Collections.singletonList(new StockMovementDTO(moderna.getId(), 25)));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(summaryOf(VaccineType.MODERNA).getQuantity(), is(equalTo(10L)));
+        assertThat(vaccineRepository.findById(moderna.getId()).get().getQuantity(), is(equalTo(10)));
+    }
+
+    private VaccineTypeSummaryDTO summaryOf(VaccineType type) {
+        return vaccineService.summarize().stream()
+                .filter(summary -> summary.getType() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,94 @@
+package com.vaccine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaccine.builder.VaccineDTOBuilder;
+import com.vaccine.dto.VaccineDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class VaccineCatalogueTest {
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 20);
+
+    private final VaccineCatalogue vaccineCatalogue = new VaccineCatalogue(new ObjectMapper(), 16);
+
+    @Test
+    void whenNothingWasWrittenThenTheSameListingIsServedWithoutLoadingAgain() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<VaccineDTO>> vaccines = () -> {
+            loads.incrementAndGet();
+            return Collections.singletonList(VaccineDTOBuilder.builder().build().toVaccineDTO());
+        };
+
+        // when
+        VaccineCatalogue.Listing first = vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+        VaccineCatalogue.Listing second = vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+        vaccineCatalogue.invalidate();
+        VaccineCatalogue.Listing rebuilt = vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(rebuilt, is(not(sameInstance(first))));
+        assertThat(rebuilt.getETag(), is(equalTo(first.getETag())));
+        assertThat(loads.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void whenCursorPageIsFullThenNextCursorIsTheLastId() {
+        // given
+        List<VaccineDTO> vaccines = Arrays.asList(
+                VaccineDTOBuilder.builder().id(2L).build().toVaccineDTO(),
+                VaccineDTOBuilder.builder().id(3L).name("Moderna").build().toVaccineDTO());
+
+        // when
+        VaccineCatalogue.Listing full = vaccineCatalogue.after(1L, 2, () -> vaccines);
+        VaccineCatalogue.Listing partial = vaccineCatalogue.after(1L, 3, () -> vaccines);
+
+        // then
+        assertThat(full.getNextCursor(), is(equalTo(3L)));
+        assertThat(partial.getNextCursor(), is(nullValue()));
+        assertThat(full.getGzippedETag(), is(not(equalTo(full.getETag()))));
+    }
+
+    @Test
+    void whenWriteIsPartOfATransactionThenListingIsRebuiltOnlyAfterCommit() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<VaccineDTO>> vaccines = () -> {
+            loads.incrementAndGet();
+            return Collections.emptyList();
+        };
+        vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            vaccineCatalogue.invalidate();
+            vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+            assertThat(loads.get(), is(equalTo(1)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        vaccineCatalogue.page(PAGE_REQUEST, vaccines);
+
+        // then
+        assertThat(loads.get(), is(equalTo(2)));
+    }
+}
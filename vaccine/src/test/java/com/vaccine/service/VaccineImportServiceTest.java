@@ -0,0 +1,101 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.VaccineImportErrorDTO;
+import com.vaccine.dto.VaccineImportReportDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.ImportFormat;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineImportException;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "vaccine.import.chunk-size=2")
+public class VaccineImportServiceTest {
+
+    @Autowired
+    private VaccineImportService vaccineImportService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenCsvIsImportedThenValidRowsAreInsertedAndEveryRejectedRowIsReported() throws Exception {
+        // given
+        vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", 100, 10, VaccineType.PFIZER, null));
+        String csv = "name,brand,max,quantity,type\n"
+                + "Moderna,Moderna,100,20,MODERNA\n"
+                + "Pfizer,BioNTech,100,10,PFIZER\n"
+                + "\"Janssen, single dose\",Janssen,50,5,janssen\n"
+                + "Moderna,Moderna,100,20,MODERNA\n"
+                + "Coronavac,Sinovac,ten,5,JANSSEN\n"
+                + "Sputnik,Gamaleya,10,20,JANSSEN\n"
+                + "Vaxzevria,AstraZeneca,10,0,OXFORD\n"
+                + ",Unknown,10,0,JANSSEN\n";
+
+        // when
+        VaccineImportReportDTO report = vaccineImportService.importVaccines(new StringReader(csv), ImportFormat.CSV);
+
+        // then
+        assertThat(report.getImported(), is(equalTo(2L)));
+        assertThat(report.getRejected(), is(equalTo(6L)));
+        Map<Long, List<String>> errors = report.getErrors().stream()
+                .collect(Collectors.toMap(VaccineImportErrorDTO::getLine, VaccineImportErrorDTO::getMessages));
+        assertThat(errors.get(3L), contains("name is already registered"));
+        assertThat(errors.get(5L), contains("name appears more than once in the import"));
+        assertThat(errors.get(6L), contains("max is not a number"));
+        assertThat(errors.get(7L), contains("quantity exceeds max"));
+        assertThat(errors.get(8L), contains(startsWith("classification must be one of")));
+        assertThat(errors.get(9L), contains("name must not be null"));
+        assertThat(vaccineRepository.findByName("Janssen, single dose").get().getType(), is(equalTo(VaccineType.JANSSEN)));
+        assertThat(vaccineRepository.findByName("Moderna").get().getQuantity(), is(equalTo(20)));
+        assertThat(vaccineRepository.count(), is(equalTo(3L)));
+    }
+
+    @Test
+    void whenNdjsonIsImportedThenMalformedLinesAreReportedAndTheRestInserted() throws Exception {
+        // given
+        String ndjson = "{\"name\":\"Moderna\",\"brand\":\"Moderna\",\"max\":100,\"quantity\":20,\"classification\":\"MODERNA\"}\n"
+                + "{\"name\":\"Pfizer\",\"brand\":\"BioNTech\",\"max\":100\n"
+                + "\n"
+                + "{\"name\":\"Pfizer\",\"brand\":\"BioNTech\",\"max\":0,\"quantity\":0,\"classification\":\"PFIZER\"}\n"
+                + "{\"name\":\"Janssen\",\"brand\":\"Janssen\",\"max\":50,\"quantity\":5,\"classification\":\"JANSSEN\"}\n";
+
+        // when
+        VaccineImportReportDTO report = vaccineImportService.importVaccines(new StringReader(ndjson), ImportFormat.NDJSON);
+
+        // then
+        assertThat(report.getImported(), is(equalTo(2L)));
+        assertThat(report.getErrors().get(0).getLine(), is(equalTo(2L)));
+        assertThat(report.getErrors().get(0).getMessages().get(0), containsString("malformed JSON"));
+        assertThat(report.getErrors().get(1).getLine(), is(equalTo(4L)));
+        assertThat(report.getErrors().get(1).getMessages(), contains("max must be greater than 0"));
+        assertThat(vaccineRepository.findByName("Janssen").isPresent(), is(true));
+    }
+
+    @Test
+    void whenCsvHeaderLacksColumnsThenImportIsRejected() {
+        assertThrows(VaccineImportException.class,
+                () -> vaccineImportService.importVaccines(new StringReader("name,brand\nPfizer,BioNTech\n"), ImportFormat.CSV));
+    }
+}
@@ -0,0 +1,125 @@
+package com.vaccine.service;
+
+import com.vaccine.config.CacheConfig;
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineNotFoundExcep;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class VaccineNameCacheTest {
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE).clear();
+    }
+
+    @Test
+    void whenVaccineIsLookedUpTwiceThenTheSecondLookupIsServedFromTheCache() throws Exception {
+        // given
+        VaccineDTO vaccine = createVaccine("Pfizer", 15);
+        cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE).clear();
+        vaccineService.findByName("Pfizer");
+
+        // when
+        jdbcTemplate.update("UPDATE vaccine SET brand = 'Changed behind the cache' WHERE id = ?", vaccine.getId());
+
+        // then
+        assertThat(cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE).get("Pfizer"), is(notNullValue()));
+        assertThat(vaccineService.findByName("Pfizer").getBrand(), is(equalTo("BioNTech")));
+    }
+
+    @Test
+    void whenStockIsIncrementedOrDecrementedThenTheCachedVaccineFollows() throws Exception {
+        // given
+        VaccineDTO vaccine = createVaccine("Moderna", 15);
+        vaccineService.findByName("Moderna");
+
+        // when
+        vaccineService.increment(vaccine.getId(), 10);
+        vaccineService.decrement(vaccine.getId(), 3);
+
+        // then
+        assertThat(cacheManager.getCache(CacheConfig.VACCINES_BY_NAME_CACHE).get("Moderna"), is(nullValue()));
+        assertThat(vaccineService.findByName("Moderna").getQuantity(), is(equalTo(22.0)));
+    }
+
+    @Test
+    void whenVaccineIsUpdatedThenTheNewValuesAreVisibleByName() throws Exception {
+        // given
+        VaccineDTO vaccine = createVaccine("Janssen", 15);
+        vaccineService.findByName("Janssen");
+
+        // when
+        vaccine.setBrand("Johnson & Johnson");
+        vaccineService.updateVaccine(vaccine.getId(), vaccine, null);
+
+        // then
+        assertThat(vaccineService.findByName("Janssen").getBrand(), is(equalTo("Johnson & Johnson")));
+    }
+
+    @Test
+    void whenBatchMovementsAreAppliedThenTheNewQuantityIsVisibleByName() throws Exception {
+        // given
+        VaccineDTO vaccine = createVaccine("Comirnaty", 15);
+        vaccineService.findByName("Comirnaty");
+
+        // when
+        vaccineService.applyStockMovements(Collections.singletonList(new StockMovementDTO(vaccine.getId(), 5)));
+
+        // then
+        assertThat(vaccineService.findByName("Comirnaty").getQuantity(), is(equalTo(20.0)));
+    }
+
+    @Test
+    void whenVaccineIsDeletedThenItIsNoLongerFoundByName() throws Exception {
+        // given
+        VaccineDTO vaccine = createVaccine("Spikevax", 15);
+        vaccineService.findByName("Spikevax");
+
+        // when
+        vaccineService.deleteById(vaccine.getId());
+
+        // then
+        assertThrows(VaccineNotFoundExcep.class, () -> vaccineService.findByName("Spikevax"));
+    }
+
+    private VaccineDTO createVaccine(String name, int quantity) throws Exception {
+        return vaccineService.createVaccine(VaccineDTO.builder()
+                .name(name)
+                .brand("BioNTech")
+                .max(100)
+                .quantity(quantity)
+                .classification(VaccineType.PFIZER)
+                .build());
+    }
+}
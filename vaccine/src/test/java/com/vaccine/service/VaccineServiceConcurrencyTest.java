@@ -0,0 +1,140 @@
+package com.vaccine.service;
+
+import com.vaccine.dto.VaccineDTO;
+import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.VaccineType;
+import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.repository.VaccineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+public class VaccineServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int INCREMENTS = 2000;
+
+    @Autowired
+    private VaccineService vaccineService;
+
+    @Autowired
+    private VaccineRepository vaccineRepository;
+
+    @AfterEach
+    void tearDown() {
+        vaccineRepository.deleteAll();
+    }
+
+    @Test
+    void whenManyIncrementsRunInParallelThenNoUpdateIsLost() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", INCREMENTS, 0, VaccineType.PFIZER, null));
+
+        // when
+        AtomicInteger exceeded = runIncrementsInParallel(vaccine.getId(), INCREMENTS);
+
+        // then
+        assertThat(exceeded.get(), is(equalTo(0)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(INCREMENTS)));
+    }
+
+    @Test
+    void whenParallelIncrementsExceedMaxThenStockStopsAtMax() throws Exception {
+        // given
+        int max = INCREMENTS / 2;
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Moderna", "Moderna", max, 0, VaccineType.MODERNA, null));
+
+        // when
+        AtomicInteger exceeded = runIncrementsInParallel(vaccine.getId(), INCREMENTS);
+
+        // then
+        assertThat(exceeded.get(), is(equalTo(INCREMENTS - max)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(max)));
+    }
+
+    @Test
+    void whenParallelDecrementsExceedStockThenStockStopsAtZero() throws Exception {
+        // given
+        int stock = INCREMENTS / 2;
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Janssen", "Janssen", INCREMENTS, stock, VaccineType.JANSSEN, null));
+
+        // when
+        AtomicInteger rejected = runInParallel(INCREMENTS, () -> vaccineService.decrement(vaccine.getId(), 1), VaccineStockInsufficientException.class);
+
+        // then
+        assertThat(rejected.get(), is(equalTo(INCREMENTS - stock)));
+        assertThat(vaccineRepository.findById(vaccine.getId()).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenUpdatesRaceWithIncrementsThenNoIncrementIsLost() throws Exception {
+        // given
+        Vaccine vaccine = vaccineRepository.save(new Vaccine(null, "Pfizer", "BioNTech", INCREMENTS, 0, VaccineType.PFIZER, null));
+        VaccineDTO update = VaccineDTO.builder()
+                .brand("Pfizer Inc")
+                .max(INCREMENTS)
+                .classification(VaccineType.PFIZER)
+                .build();
+
+        // when
+        AtomicInteger operation = new AtomicInteger();
+        AtomicInteger conflicts = runInParallel(INCREMENTS, () -> operation.getAndIncrement() % 2 == 0
+                ? vaccineService.increment(vaccine.getId(), 1)
+                : vaccineService.updateVaccine(vaccine.getId(), update, null), VaccineUpdateConflictException.class);
+
+        // then
+        Vaccine updatedVaccine = vaccineRepository.findById(vaccine.getId()).get();
+        assertThat(updatedVaccine.getQuantity(), is(equalTo(INCREMENTS / 2)));
+        assertThat(updatedVaccine.getBrand(), is(equalTo("Pfizer Inc")));
+        assertThat(updatedVaccine.getVersion(), is(equalTo((long) INCREMENTS - conflicts.get())));
+    }
+
+    private AtomicInteger runIncrementsInParallel(Long id, int increments) throws Exception {
+        return runInParallel(increments, () -> vaccineService.increment(id, 1), VaccineStockExceedException.class);
+    }
+
+    private AtomicInteger runInParallel(int operations, Callable<?> operation, Class<? extends Exception> rejection) throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                tasks.add(() -> {
+                    try {
+                        operation.call();
+                    } catch (Exception e) {
+                        if (!rejection.isInstance(e)) {
+                            throw e;
+                        }
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return rejected;
+    }
+}
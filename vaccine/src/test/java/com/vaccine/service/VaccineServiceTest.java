@@ -1,23 +1,37 @@
 package com.vaccine.service;
 
 
+import com.vaccine.alert.StockAlertEngine;
 import com.vaccine.builder.VaccineDTOBuilder;
+import com.vaccine.dto.StockMovementDTO;
+import com.vaccine.dto.StockMovementResultDTO;
 import com.vaccine.dto.VaccineDTO;
 import com.vaccine.entity.Vaccine;
+import com.vaccine.enums.StockMovementStatus;
 import com.vaccine.exception.VaccineAlreadyRegException;
 import com.vaccine.exception.VaccineNotFoundExcep;
 import com.vaccine.exception.VaccineStockExceedException;
+import com.vaccine.exception.VaccineStockInsufficientException;
+import com.vaccine.exception.VaccineUpdateConflictException;
+import com.vaccine.exception.VaccineVersionMismatchException;
 import com.vaccine.mapper.VaccineMapper;
+import com.vaccine.metrics.VaccineMetrics;
 import com.vaccine.repository.VaccineRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -29,11 +43,40 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 public class VaccineServiceTest {
 
-    private static final long INVALID_ private static final long INVALID_VACCINE_ID = 1L;
+    private static final long INVALID_VACCINE_ID = 1L;
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 20);
 
     @Mock
     private VaccineRepository vaccineRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private VaccineMetrics vaccineMetrics;
+
+    @Mock
+    private StockIncrementBuffer stockIncrementBuffer;
+
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Mock
+    private StockSummary stockSummary;
+
+    @Mock
+    private StockAlertEngine stockAlertEngine;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private StockHistory stockHistory;
+
+    @Mock
+    private VaccineCatalogue vaccineCatalogue;
+
     private VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
 
     @InjectMocks
@@ -70,11 +113,26 @@ public class VaccineServiceTest {
         assertThrows(VaccineAlreadyRegException.class, () -> vaccineService.createVaccine(expectedVaccineDTO));
     }
 
+    @Test
+    void whenVaccineIsRegisteredConcurrentlyThenAnExceptionShouldBeThrown() {
+        // given
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedSavedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+
+        // when
+        when(vaccineRepository.findByName(expectedVaccineDTO.getName())).thenReturn(Optional.empty());
+        when(vaccineRepository.save(expectedSavedVaccine)).thenThrow(new DataIntegrityViolationException("uk_vaccine_name"));
+
+        // then
+        assertThrows(VaccineAlreadyRegException.class, () -> vaccineService.createVaccine(expectedVaccineDTO));
+    }
+
     @Test
     void whenValidVaccineNameIsGivenThenReturnAVaccine() throws VaccineNotFoundExcep {
         // given
         VaccineDTO expectedFoundVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedFoundVaccine = vaccineMapper.toModel(expectedFoundVaccineDTO);
+        expectedFoundVaccine.setVersion(expectedFoundVaccineDTO.getVersion());
 
         // when
         when(vaccineRepository.findByName(expectedFoundVaccine.getName())).thenReturn(Optional.of(expectedFoundVaccine));
@@ -102,12 +160,13 @@ public class VaccineServiceTest {
         // given
         VaccineDTO expectedFoundVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedFoundVaccine = vaccineMapper.toModel(expectedFoundVaccineDTO);
+        expectedFoundVaccine.setVersion(expectedFoundVaccineDTO.getVersion());
 
         //when
-        when(vaccineRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundVaccine));
+        when(vaccineRepository.findAllBy(PAGE_REQUEST)).thenReturn(new SliceImpl<>(Collections.singletonList(expectedFoundVaccine)));
 
         //then
-        List<VaccineDTO> foundListVaccinesDTO = vaccineService.listAll();
+        List<VaccineDTO> foundListVaccinesDTO = vaccineService.listAll(PAGE_REQUEST);
 
         assertThat(foundListVaccinesDTO, is(not(empty())));
         assertThat(foundListVaccinesDTO.get(0), is(equalTo(expectedFoundVaccineDTO)));
@@ -116,14 +175,49 @@ public class VaccineServiceTest {
     @Test
     void whenListVaccineIsCalledThenReturnAnEmptyListOfVaccines() {
         //when
-        when(vaccineRepository.findAll()).thenReturn(Collections.EMPTY_LIST);
+        when(vaccineRepository.findAllBy(PAGE_REQUEST)).thenReturn(new SliceImpl<>(Collections.emptyList()));
 
         //then
-        List<VaccineDTO> foundListVaccinesDTO = vaccineService.listAll();
+        List<VaccineDTO> foundListVaccinesDTO = vaccineService.listAll(PAGE_REQUEST);
 
         assertThat(foundListVaccinesDTO, is(empty()));
     }
 
+    @Test
+    void whenListAfterCursorIsCalledThenReturnVaccinesAfterTheCursor() {
+        // given
+        VaccineDTO expectedFoundVaccineDTO = VaccineDTOBuilder.builder().id(2L).build().toVaccineDTO();
+        Vaccine expectedFoundVaccine = vaccineMapper.toModel(expectedFoundVaccineDTO);
+
+        //when
+        when(vaccineRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, PAGE_REQUEST.getPageSize())))
+                .thenReturn(Collections.singletonList(expectedFoundVaccine));
+
+        //then
+        List<VaccineDTO> foundListVaccinesDTO = vaccineService.listAfter(1L, PAGE_REQUEST.getPageSize());
+
+        assertThat(foundListVaccinesDTO, hasSize(1));
+        assertThat(foundListVaccinesDTO.get(0).getId(), is(equalTo(2L)));
+    }
+
+    @Test
+    void whenExportIsCalledThenEachVaccineIsStreamedAndDetached() {
+        // given
+        VaccineDTO expectedExportedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedExportedVaccine = vaccineMapper.toModel(expectedExportedVaccineDTO);
+        List<VaccineDTO> exportedVaccinesDTO = new ArrayList<>();
+
+        // when
+        when(vaccineRepository.streamAll()).thenReturn(Stream.of(expectedExportedVaccine));
+
+        // then
+        vaccineService.exportAll(exportedVaccinesDTO::add);
+
+        assertThat(exportedVaccinesDTO, hasSize(1));
+        assertThat(exportedVaccinesDTO.get(0).getName(), is(equalTo(expectedExportedVaccineDTO.getName())));
+        verify(entityManager, times(1)).detach(expectedExportedVaccine);
+    }
+
     @Test
     void whenExclusionIsCalledWithValidIdThenAVAccineShouldBeDeleted() throws VaccineNotFoundExcep {
         // given
@@ -142,23 +236,25 @@ public class VaccineServiceTest {
     }
 
     @Test
-    void whenIncrementIsCalledThenIncrementVaccineStock() throws VaccineNotFoundExcep, VaccineStockExceedException, VaccineStockExceedException, VaccineNotFoundExcep {
+    void whenIncrementIsCalledThenIncrementVaccineStock() throws VaccineNotFoundExcep, VaccineStockExceedException {
         //given
         VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
 
-        //when
-        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine);
-
         int quantityToIncrement = 10;
         int expectedQuantityAfterIncrement = (int) (expectedVaccineDTO.getQuantity() + quantityToIncrement);
+        expectedVaccine.setQuantity(expectedQuantityAfterIncrement);
+
+        //when
+        when(vaccineRepository.incrementQuantity(expectedVaccineDTO.getId(), quantityToIncrement)).thenReturn(1);
+        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
 
         // then
         VaccineDTO incrementedVaccineDTO = vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement);
 
-        assertThat(expectedQuantityAfterIncrement, equalTo(incrementedVaccineDTO.getQuantity()));
-        assertThat(expectedQuantityAfterIncrement, lessThan(expectedVaccineDTO.getMax()));
+        assertThat(incrementedVaccineDTO.getQuantity(), is(equalTo((double) expectedQuantityAfterIncrement)));
+        assertThat((double) expectedQuantityAfterIncrement, lessThan(expectedVaccineDTO.getMax()));
+        verify(vaccineMetrics, times(1)).recordUnitsAdded(expectedVaccine.getType(), quantityToIncrement);
     }
 
     @Test
@@ -166,9 +262,10 @@ public class VaccineServiceTest {
         VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
 
+        int quantityToIncrement = 80;
+        when(vaccineRepository.incrementQuantity(expectedVaccineDTO.getId(), quantityToIncrement)).thenReturn(0);
         when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
 
-        int quantityToIncrement = 80;
         assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement));
     }
 
@@ -177,9 +274,10 @@ public class VaccineServiceTest {
         VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
 
+        int quantityToIncrement = 45;
+        when(vaccineRepository.incrementQuantity(expectedVaccineDTO.getId(), quantityToIncrement)).thenReturn(0);
         when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
 
-        int quantityToIncrement = 45;
         assertThrows(VaccineStockExceedException.class, () -> vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement));
     }
 
@@ -187,160 +285,143 @@ public class VaccineServiceTest {
     void whenIncrementIsCalledWithInvalidIdThenThrowException() {
         int quantityToIncrement = 10;
 
+        when(vaccineRepository.incrementQuantity(INVALID_VACCINE_ID, quantityToIncrement)).thenReturn(0);
         when(vaccineRepository.findById(INVALID_VACCINE_ID)).thenReturn(Optional.empty());
 
         assertThrows(VaccineNotFoundExcep.class, () -> vaccineService.increment(INVALID_VACCINE_ID, quantityToIncrement));
     }
-//
-//    @Test
-//    void whenDecrementIsCalledThenDecrementVacineStock() throws VaccineNotFoundException, VaccineStockExceededException {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine);
-//
-//        int quantityToDecrement = 5;
-//        int expectedQuantityAfterDecrement = expectedVaccineDTO.getQuantity() - quantityToDecrement;
-//        VaccineDTO incrementedVaccineDTO = vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement);
-//
-//        assertThat(expectedQuantityAfterDecrement, equalTo(incrementedVaccineDTO.getQuantity()));
-//        assertThat(expectedQuantityAfterDecrement, greaterThan(0));
-//    }
-//
-//    @Test
-//    void whenDecrementIsCalledToEmptyStockThenEmptyVaccineStock() throws VaccineNotFoundException, VaccineStockExceededException {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine
-//        int quantityToDecrement = 10;
-//        int expectedQuantityAfterDecrement = expectedVaccineDTO.getQuantity() - quantityToDecrement;
-//        VaccineDTO incrementedVaccineDTO = vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement);
-//
-//        assertThat(expectedQuantityAfterDecrement, equalTo(0));
-//        assertThat(expectedQuantityAfterDecrement, equalTo(incrementedVaccineDTO.getQuantity()));
-//    }
-//
-//    @Test
-//    void whenDecrementIsLowerThanZeroThenThrowException() {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = Mapper.toModel(vaccineexpectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//
-//        int quantityToDecrement = 80;
-//        assertThrows(VaccineStockExceededException.class, () -> vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement));
-//    }
-//
-//    @Test
-//    void whenDecrementIsCalledWithInvalidIdThenThrowException() {
-//        int quantityToDecrement = 10;
-//
-//        when(vaccineRepository.findById(INVALID_VACCINE_ID)).thenReturn(Optional.empty());
-//
-//        assertThrows(VaccineNotFoundException.class, () -> vaccineService.decrement(INVALID_VACCINE_ID, quantityToDecrement));
-//    }_ID = 1L;
-
-    /*@Mock
-    private VaccineRepository vaccineRepository;
 
-    private VaccineMapper vaccineMapper = VaccineMapper.INSTANCE;
+    @Test
+    void whenWriteBehindIsEnabledThenIncrementIsBuffered() throws VaccineNotFoundExcep, VaccineStockExceedException {
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        int quantityToIncrement = 10;
 
-    @InjectMocks
-    private VaccineService vaccineService;*/
+        when(stockIncrementBuffer.isEnabled()).thenReturn(true);
+        when(stockIncrementBuffer.increment(expectedVaccineDTO.getId(), quantityToIncrement)).thenReturn(expectedVaccineDTO);
+
+        VaccineDTO incrementedVaccineDTO = vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement);
+
+        assertThat(incrementedVaccineDTO, is(equalTo(expectedVaccineDTO)));
+        verify(vaccineRepository, never()).incrementQuantity(expectedVaccineDTO.getId(), quantityToIncrement);
+    }
 
     @Test
-    void whenExclusionIsCalledWithValidIdThenAVaccineShouldBeDeleted() throws VaccineNotFoundExcep{
-        // given
-        VaccineDTO expectedDeletedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-        Vaccine expectedDeletedVaccine = vaccineMapper.toModel(expectedDeletedVaccineDTO);
+    void whenDecrementIsCalledThenDecrementVaccineStock() throws VaccineNotFoundExcep, VaccineStockInsufficientException {
+        //given
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
 
-        // when
-        when(vaccineRepository.findById(expectedDeletedVaccineDTO.getId())).thenReturn(Optional.of(expectedDeletedVaccine));
-        doNothing().when(vaccineRepository).deleteById(expectedDeletedVaccineDTO.getId());
+        int quantityToDecrement = 5;
+        int expectedQuantityAfterDecrement = (int) (expectedVaccineDTO.getQuantity() - quantityToDecrement);
+        expectedVaccine.setQuantity(expectedQuantityAfterDecrement);
+
+        //when
+        when(vaccineRepository.decrementQuantity(expectedVaccineDTO.getId(), quantityToDecrement)).thenReturn(1);
+        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
 
         // then
-        vaccineService.deleteById(expectedDeletedVaccineDTO.getId());
+        VaccineDTO decrementedVaccineDTO = vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement);
 
-        verify(vaccineRepository, times(1)).findById(expectedDeletedVaccineDTO.getId());
-        verify(vaccineRepository, times(1)).deleteById(expectedDeletedVaccineDTO.getId());
+        assertThat(decrementedVaccineDTO.getQuantity(), is(equalTo((double) expectedQuantityAfterDecrement)));
+        verify(vaccineMetrics, times(1)).recordUnitsRemoved(expectedVaccine.getType(), quantityToDecrement);
     }
 
     @Test
-    void whenIncrementIsCalledThenIncrementVaccineStock() throws VaccineNotFoundExcep, VaccineStockExceedException {
-        //given
+    void whenDecrementIsLowerThanZeroThenThrowException() {
         VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
         Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
 
-        //when
+        int quantityToDecrement = 80;
+        when(vaccineRepository.decrementQuantity(expectedVaccineDTO.getId(), quantityToDecrement)).thenReturn(0);
         when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine);
+
+        assertThrows(VaccineStockInsufficientException.class, () -> vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement));
+    }
+
+    @Test
+    void whenDecrementIsCalledWithInvalidIdThenThrowException() {
+        int quantityToDecrement = 10;
+
+        when(vaccineRepository.decrementQuantity(INVALID_VACCINE_ID, quantityToDecrement)).thenReturn(0);
+        when(vaccineRepository.findById(INVALID_VACCINE_ID)).thenReturn(Optional.empty());
+
+        assertThrows(VaccineNotFoundExcep.class, () -> vaccineService.decrement(INVALID_VACCINE_ID, quantityToDecrement));
+    }
+
+    @Test
+    void whenIncrementIsCalledWithStaleVersionThenThrowException() {
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        expectedVaccine.setVersion(3L);
 
         int quantityToIncrement = 10;
-        int expectedQuantityAfterIncrement = (int) (expectedVaccineDTO.getQuantity() + quantityToIncrement);
+        when(vaccineRepository.incrementQuantityAtVersion(expectedVaccineDTO.getId(), quantityToIncrement, 2L)).thenReturn(0);
+        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
+
+        assertThrows(VaccineVersionMismatchException.class, () -> vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement, 2L));
+    }
+
+    @Test
+    void whenUpdateConflictsThenItIsRetriedAgainstTheLatestVersion() throws Exception {
+        // given
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().brand("Pfizer Inc").build().toVaccineDTO();
+        Vaccine staleVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        staleVaccine.setVersion(1L);
+        Vaccine latestVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        latestVaccine.setVersion(2L);
+        Vaccine updatedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        updatedVaccine.setVersion(3L);
+        int max = (int) expectedVaccineDTO.getMax();
+
+        // when
+        when(vaccineRepository.findById(expectedVaccineDTO.getId()))
+                .thenReturn(Optional.of(staleVaccine), Optional.of(latestVaccine), Optional.of(updatedVaccine));
+        when(vaccineRepository.updateAtVersion(expectedVaccineDTO.getId(), 1L, "Pfizer Inc", max, expectedVaccineDTO.getClassification())).thenReturn(0);
+        when(vaccineRepository.updateAtVersion(expectedVaccineDTO.getId(), 2L, "Pfizer Inc", max, expectedVaccineDTO.getClassification())).thenReturn(1);
+        when(optimisticLockRetry.backOff("updateVaccine", 1)).thenReturn(true);
 
         // then
-        VaccineDTO incrementedVaccineDTO = vaccineService.increment(expectedVaccineDTO.getId(), quantityToIncrement);
+        VaccineDTO updatedVaccineDTO = vaccineService.updateVaccine(expectedVaccineDTO.getId(), expectedVaccineDTO, null);
 
-        assertThat(expectedQuantityAfterIncrement, equalTo(incrementedVaccineDTO.getQuantity()));
-        assertThat(expectedQuantityAfterIncrement, lessThan(expectedVaccineDTO.getMax()));
+        assertThat(updatedVaccineDTO.getVersion(), is(equalTo(3L)));
+        assertThat(updatedVaccineDTO.getBrand(), is(equalTo("Pfizer Inc")));
     }
 
+    @Test
+    void whenUpdateKeepsConflictingThenThrowConflictException() {
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        expectedVaccine.setVersion(1L);
 
-//
-//    @Test
-//    void whenDecrementIsCalledThenDecrementVaccineStock() throws VaccineNotFoundException, VaccineStockExceededException {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine);
-//
-//        int quantityToDecrement = 5;
-//        int expectedQuantityAfterDecrement = expectedVaccineDTO.getQuantity() - quantityToDecrement;
-//        VaccineDTO incrementedVaccineDTO = vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement);
-//
-//        assertThat(expectedQuantityAfterDecrement, equalTo(incrementedVaccineDTO.getQuantity()));
-//        assertThat(expectedQuantityAfterDecrement, greaterThan(0));
-//    }
-//
-//    @Test
-//    void whenDecrementIsCalledToEmptyStockThenEmptyVaccineStock() throws VaccineNotFoundException, VaccineStockExceededException {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//        when(vaccineRepository.save(expectedVaccine)).thenReturn(expectedVaccine);
-//
-//        int quantityToDecrement = 10;
-//        int expectedQuantityAfterDecrement = expectedVaccineDTO.getQuantity() - quantityToDecrement;
-//        VaccineDTO incrementedVaccineDTO = vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement);
-//
-//        assertThat(expectedQuantityAfterDecrement, equalTo(0));
-//        assertThat(expectedQuantityAfterDecrement, equalTo(incrementedVaccineDTO.getQuantity()));
-//    }
-//
-//    @Test
-//    void whenDecrementIsLowerThanZeroThenThrowException() {
-//        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
-//        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
-//
-//        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
-//
-//        int quantityToDecrement = 80;
-//        assertThrows(VaccineStockExceededException.class, () -> vaccineService.decrement(expectedVaccineDTO.getId(), quantityToDecrement));
-//    }
-//
-//    @Test
-//    void whenDecrementIsCalledWithInvalidIdThenThrowException() {
-//        int quantityToDecrement = 10;
-//
-//        when(vaccineRepository.findById(INVALID_VACCINE_ID)).thenReturn(Optional.empty());
-//
-//        assertThrows(VaccineNotFoundException.class, () -> vaccineService.decrement(INVALID_VACCINE_ID, quantityToDecrement));
-//    }
+        when(vaccineRepository.findById(expectedVaccineDTO.getId())).thenReturn(Optional.of(expectedVaccine));
+        when(vaccineRepository.updateAtVersion(expectedVaccineDTO.getId(), 1L, expectedVaccineDTO.getBrand(), (int) expectedVaccineDTO.getMax(), expectedVaccineDTO.getClassification())).thenReturn(0);
+        when(optimisticLockRetry.backOff("updateVaccine", 1)).thenReturn(false);
 
+        assertThrows(VaccineUpdateConflictException.class, () -> vaccineService.updateVaccine(expectedVaccineDTO.getId(), expectedVaccineDTO, null));
+    }
 
+    @Test
+    void whenStockMovementsAreAppliedThenEachEntryReportsItsStatus() {
+        // given
+        VaccineDTO expectedVaccineDTO = VaccineDTOBuilder.builder().build().toVaccineDTO();
+        Vaccine expectedVaccine = vaccineMapper.toModel(expectedVaccineDTO);
+        List<StockMovementDTO> movements = List.of(
+                new StockMovementDTO(expectedVaccineDTO.getId(), 10),
+                new StockMovementDTO(expectedVaccineDTO.getId(), 10),
+                new StockMovementDTO(expectedVaccineDTO.getId(), -30),
+                new StockMovementDTO(INVALID_VACCINE_ID + 1, 5));
+
+        // when
+        when(vaccineRepository.findByIdInOrderByIdAsc(List.of(expectedVaccineDTO.getId(), INVALID_VACCINE_ID + 1)))
+                .thenReturn(Collections.singletonList(expectedVaccine));
+
+        // then
+        List<StockMovementResultDTO> results = vaccineService.applyStockMovements(movements);
+
+        assertThat(results.get(0).getStatus(), is(equalTo(StockMovementStatus.APPLIED)));
+        assertThat(results.get(1).getStatus(), is(equalTo(StockMovementStatus.EXCEEDED)));
+        assertThat(results.get(2).getStatus(), is(equalTo(StockMovementStatus.INSUFFICIENT)));
+        assertThat(results.get(3).getStatus(), is(equalTo(StockMovementStatus.NOT_FOUND)));
+        assertThat(expectedVaccine.getQuantity(), is(equalTo(25)));
+    }
 }